@@ -0,0 +1,145 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.mojang.blaze3d.platform.NativeImage;
+import com.sun.net.httpserver.HttpServer;
+
+import de.markusbordihn.easynpc.skin.SkinModel;
+
+/**
+ * Per skin latency of the remote texture ingest, served by a local HTTP server. The direct path is
+ * the one of {@link TextureManager#getRemoteNativeImage} without the cache lookup and manifest,
+ * the legacy path is the former ImageIO decode, PNG encode to the cache file and second decode.
+ * Run with the gc profiler for heap allocations, the direct buffer itself is allocated off-heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextureIngestBenchmark {
+
+  @Param({"64", "128"})
+  private int textureSize;
+
+  private final TextureModelKey textureModelKey =
+      new TextureModelKey(UUID.randomUUID(), SkinModel.HUMANOID);
+  private HttpServer httpServer;
+  private String remoteUrl;
+  private Path targetDirectory;
+  private File file;
+
+  @Setup
+  public void setup() throws IOException {
+    byte[] data = createSkin(this.textureSize);
+    this.httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.httpServer.createContext("/skin.png", exchange -> {
+      exchange.sendResponseHeaders(200, data.length);
+      try (OutputStream outputStream = exchange.getResponseBody()) {
+        outputStream.write(data);
+      }
+    });
+    this.httpServer.start();
+    this.remoteUrl =
+        "http://127.0.0.1:" + this.httpServer.getAddress().getPort() + "/skin.png";
+    this.targetDirectory = Files.createTempDirectory("easy_npc_texture_ingest");
+    this.file = new File(this.targetDirectory.toFile(),
+        TextureManager.getFileName(this.textureModelKey.getUUID()));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    this.httpServer.stop(0);
+    Files.deleteIfExists(this.file.toPath());
+    Files.deleteIfExists(this.targetDirectory);
+  }
+
+  @Benchmark
+  public int directIngest() throws IOException {
+    ByteBuffer textureData = TextureManager.getRemoteData(this.remoteUrl);
+    try {
+      if (!TextureManager.isValidTextureData(textureData, this.remoteUrl)) {
+        throw new IllegalStateException("Invalid texture data from " + this.remoteUrl);
+      }
+      try (NativeImage nativeImage =
+          TextureManager.getNativeImage(this.textureModelKey, textureData)) {
+        TextureManager.writeFile(this.file, textureData);
+        return nativeImage.getWidth();
+      }
+    } finally {
+      MemoryUtil.memFree(textureData);
+    }
+  }
+
+  @Benchmark
+  public int legacyIngest() throws IOException {
+    BufferedImage image = ImageIO.read(new URL(this.remoteUrl));
+    if (image == null || image.getWidth() % 32 != 0 || image.getHeight() % 32 != 0) {
+      throw new IllegalStateException("Invalid texture data from " + this.remoteUrl);
+    }
+    ImageIO.write(image, "png", this.file);
+    try (InputStream inputStream = new FileInputStream(this.file);
+        NativeImage nativeImage = NativeImage.read(inputStream)) {
+      return nativeImage.getWidth();
+    }
+  }
+
+  /** Creates a skin with noise, so that the PNG has a realistic compressed size. */
+  private static byte[] createSkin(int size) throws IOException {
+    Random random = new Random(size);
+    BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+    for (int x = 0; x < size; x++) {
+      for (int y = 0; y < size; y++) {
+        image.setRGB(x, y, 0xFF000000 | (x * 0x030201 + y * 0x010203 + random.nextInt(16)));
+      }
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", outputStream);
+    return outputStream.toByteArray();
+  }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.commands;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import net.minecraft.commands.CommandSourceStack;
+
+/**
+ * Compares the {@link CachedCommand} lookup used by
+ * {@link CommandManager#executeEntityCommand} against the former performCommand path, which parsed
+ * the bound action command on every execution. The dispatcher only contains plain brigadier nodes
+ * with the shape of typical action commands, so no server or command source is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandCacheBenchmark {
+
+  private static final String TEMPLATE = "/give @initiator minecraft:diamond 1";
+  private static final int PERMISSION_LEVEL = 2;
+
+  // 4 bindings stay within the cache, 32 bindings exceed it and show the miss overhead.
+  @Param({"4", "32"})
+  private int numberOfBindings;
+
+  private final CommandDispatcher<CommandSourceStack> dispatcher = new CommandDispatcher<>();
+  private final CachedCommand cachedCommand = new CachedCommand();
+  private String[] commands;
+  private int commandIndex = 0;
+
+  @Setup
+  public void setup() {
+    this.dispatcher.register(LiteralArgumentBuilder.<CommandSourceStack>literal("give")
+        .then(RequiredArgumentBuilder
+            .<CommandSourceStack, String>argument("targets", StringArgumentType.word())
+            .then(RequiredArgumentBuilder
+                .<CommandSourceStack, String>argument("item", StringArgumentType.string())
+                .executes(context -> 1)
+                .then(RequiredArgumentBuilder
+                    .<CommandSourceStack, Integer>argument("count",
+                        IntegerArgumentType.integer(1))
+                    .executes(context -> IntegerArgumentType.getInteger(context, "count"))))));
+    this.dispatcher.register(LiteralArgumentBuilder.<CommandSourceStack>literal("tell")
+        .then(RequiredArgumentBuilder
+            .<CommandSourceStack, String>argument("targets", StringArgumentType.word())
+            .then(RequiredArgumentBuilder
+                .<CommandSourceStack, String>argument("message", StringArgumentType.greedyString())
+                .executes(context -> 1))));
+    this.dispatcher.register(LiteralArgumentBuilder.<CommandSourceStack>literal("effect")
+        .then(LiteralArgumentBuilder.<CommandSourceStack>literal("give")
+            .then(RequiredArgumentBuilder
+                .<CommandSourceStack, String>argument("targets", StringArgumentType.word())
+                .then(RequiredArgumentBuilder
+                    .<CommandSourceStack, String>argument("effect", StringArgumentType.string())
+                    .executes(context -> 1)))));
+
+    // Bound commands of the same template, only differing by the initiator name.
+    this.commands = new String[this.numberOfBindings];
+    for (int i = 0; i < this.numberOfBindings; i++) {
+      this.commands[i] = "/give Player" + i + " minecraft:diamond 1";
+    }
+  }
+
+  private String nextCommand() {
+    String command = this.commands[this.commandIndex];
+    this.commandIndex = (this.commandIndex + 1) % this.commands.length;
+    return command;
+  }
+
+  private ParseResults<CommandSourceStack> parse(String command) {
+    StringReader stringReader = new StringReader(command);
+    if (stringReader.canRead() && stringReader.peek() == '/') {
+      stringReader.skip();
+    }
+    return this.dispatcher.parse(stringReader, null);
+  }
+
+  @Benchmark
+  public int performCommand() throws CommandSyntaxException {
+    return this.dispatcher.execute(parse(nextCommand()));
+  }
+
+  @Benchmark
+  public int cachedCommand() throws CommandSyntaxException {
+    String command = nextCommand();
+    ParseResults<CommandSourceStack> parseResults = this.cachedCommand
+        .getParseResults(this.dispatcher, TEMPLATE, command, PERMISSION_LEVEL, false);
+    if (parseResults == null) {
+      parseResults = parse(command);
+      this.cachedCommand.putParseResults(command, parseResults);
+    }
+    return this.dispatcher.execute(parseResults);
+  }
+
+}
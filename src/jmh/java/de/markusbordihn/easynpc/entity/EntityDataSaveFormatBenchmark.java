@@ -0,0 +1,309 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+
+import de.markusbordihn.easynpc.dialog.DialogData;
+import de.markusbordihn.easynpc.dialog.DialogType;
+import de.markusbordihn.easynpc.skin.SkinType;
+
+/**
+ * Compares the legacy save layout, which stores every value, with the sparse and versioned layout
+ * of {@link EasyNPCEntityData#addAdditionalSaveData}. The NPC data is written as CompoundTag and
+ * round-tripped through compressed NBT like in region files, so no running server is needed. The
+ * stored bytes of both layouts are printed during the setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntityDataSaveFormatBenchmark {
+
+  private static final float DEFAULT_SCALE = 1.0f;
+  private static final String DEFAULT_PROFESSION = "NONE";
+  private static final String DEFAULT_VARIANT = "STEVE";
+
+  @Param({"10000"})
+  private int numberOfEntities;
+
+  private final List<TestData> entities = new ArrayList<>();
+  private byte[] legacyData;
+  private byte[] sparseData;
+
+  @Setup
+  public void setup() throws IOException {
+    Random random = new Random(42);
+    for (int i = 0; i < this.numberOfEntities; i++) {
+      this.entities.add(new TestData(random));
+    }
+    this.legacyData = write(false);
+    this.sparseData = write(true);
+    System.out.printf("%n%d NPCs: legacy layout %d bytes, sparse layout %d bytes (compressed)%n",
+        this.numberOfEntities, this.legacyData.length, this.sparseData.length);
+  }
+
+  @Benchmark
+  public byte[] saveLegacy() throws IOException {
+    return write(false);
+  }
+
+  @Benchmark
+  public byte[] saveSparse() throws IOException {
+    return write(true);
+  }
+
+  @Benchmark
+  public void loadLegacy(Blackhole blackhole) throws IOException {
+    read(this.legacyData, blackhole);
+  }
+
+  @Benchmark
+  public void loadSparse(Blackhole blackhole) throws IOException {
+    read(this.sparseData, blackhole);
+  }
+
+  private byte[] write(boolean sparse) throws IOException {
+    ListTag listTag = new ListTag();
+    for (TestData testData : this.entities) {
+      CompoundTag compoundTag = new CompoundTag();
+      if (sparse) {
+        testData.writeSparse(compoundTag);
+      } else {
+        testData.writeLegacy(compoundTag);
+      }
+      listTag.add(compoundTag);
+    }
+    CompoundTag rootTag = new CompoundTag();
+    rootTag.put("Entities", listTag);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    NbtIo.writeCompressed(rootTag, outputStream);
+    return outputStream.toByteArray();
+  }
+
+  /** Reads both layouts the same way as readAdditionalSaveData, missing tags are defaults. */
+  private static void read(byte[] data, Blackhole blackhole) throws IOException {
+    CompoundTag rootTag = NbtIo.readCompressed(new ByteArrayInputStream(data));
+    ListTag listTag = rootTag.getList("Entities", Tag.TAG_COMPOUND);
+    for (int i = 0; i < listTag.size(); i++) {
+      CompoundTag compoundTag = listTag.getCompound(i);
+      blackhole.consume(compoundTag.getInt(EasyNPCEntityData.DATA_VERSION_TAG));
+      blackhole.consume(compoundTag.contains(EasyNPCEntityData.DATA_ACTION_DATA_TAG)
+          ? compoundTag.getCompound(EasyNPCEntityData.DATA_ACTION_DATA_TAG)
+          : null);
+      blackhole.consume(compoundTag.getBoolean(EasyNPCEntityData.DATA_ACTION_DEBUG_TAG));
+      blackhole.consume(compoundTag.getInt(EasyNPCEntityData.DATA_ACTION_PERMISSION_LEVEL_TAG));
+      blackhole.consume(
+          DialogType.get(compoundTag.getString(EasyNPCEntityData.DATA_DIALOG_TYPE_TAG)));
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_DIALOG_TAG));
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_NO_DIALOG_TAG));
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_NO_DIALOG_BUTTON_TAG));
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_YES_DIALOG_TAG));
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_YES_DIALOG_BUTTON_TAG));
+      blackhole.consume(compoundTag.hasUUID(EasyNPCEntityData.DATA_OWNER_TAG)
+          ? compoundTag.getUUID(EasyNPCEntityData.DATA_OWNER_TAG)
+          : null);
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_PROFESSION_TAG));
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_VARIANT_TAG));
+      blackhole.consume(compoundTag.getFloat(EasyNPCEntityData.DATA_SCALE_X_TAG));
+      blackhole.consume(compoundTag.getFloat(EasyNPCEntityData.DATA_SCALE_Y_TAG));
+      blackhole.consume(compoundTag.getFloat(EasyNPCEntityData.DATA_SCALE_Z_TAG));
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_SKIN_TAG));
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_SKIN_URL_TAG));
+      blackhole.consume(compoundTag.hasUUID(EasyNPCEntityData.DATA_SKIN_UUID_TAG)
+          ? compoundTag.getUUID(EasyNPCEntityData.DATA_SKIN_UUID_TAG)
+          : null);
+      blackhole.consume(compoundTag.getString(EasyNPCEntityData.DATA_SKIN_TYPE_TAG));
+      blackhole.consume(compoundTag.getBoolean(EasyNPCEntityData.DATA_STATIC_TAG));
+    }
+  }
+
+  /** NPC data, where most NPCs are using defaults and only some have dialogs and actions. */
+  private static final class TestData {
+    private final CompoundTag actionData = new CompoundTag();
+    private final int actionPermissionLevel;
+    private final boolean actionDebug;
+    private final DialogType dialogType;
+    private final String dialog;
+    private final String noDialog;
+    private final String noDialogButton;
+    private final String yesDialog;
+    private final String yesDialogButton;
+    private final UUID owner;
+    private final String profession;
+    private final String variant;
+    private final float scaleX;
+    private final float scaleY;
+    private final float scaleZ;
+    private final String skin;
+    private final String skinURL;
+    private final UUID skinUUID;
+    private final SkinType skinType;
+    private final boolean isStatic;
+
+    private TestData(Random random) {
+      boolean hasDialog = random.nextInt(10) < 3;
+      boolean hasYesNoDialog = hasDialog && random.nextBoolean();
+      if (random.nextInt(10) < 2) {
+        this.actionData.putString("ON_INTERACTION", "/give @initiator minecraft:bread 1");
+      }
+      this.actionPermissionLevel = this.actionData.isEmpty() ? 0 : 2;
+      this.actionDebug = false;
+      this.dialogType = hasYesNoDialog ? DialogType.YES_NO
+          : hasDialog ? DialogType.BASIC : DialogType.NONE;
+      this.dialog = hasDialog ? "Hello @initiator, welcome to our town!" : "";
+      this.noDialog = hasYesNoDialog ? "Maybe next time." : "";
+      this.noDialogButton = DialogData.DEFAULT_NO_DIALOG_BUTTON;
+      this.yesDialog = hasYesNoDialog ? "Great, follow me!" : "";
+      this.yesDialogButton = DialogData.DEFAULT_YES_DIALOG_BUTTON;
+      this.owner = random.nextBoolean() ? new UUID(random.nextLong(), random.nextLong()) : null;
+      this.profession = DEFAULT_PROFESSION;
+      this.variant = random.nextInt(4) == 0 ? "ALEX" : DEFAULT_VARIANT;
+      this.scaleX = DEFAULT_SCALE;
+      this.scaleY = DEFAULT_SCALE;
+      this.scaleZ = DEFAULT_SCALE;
+      boolean hasPlayerSkin = random.nextInt(10) < 2;
+      this.skin = "";
+      this.skinURL = "";
+      this.skinUUID = hasPlayerSkin ? new UUID(random.nextLong(), random.nextLong()) : null;
+      this.skinType = hasPlayerSkin ? SkinType.PLAYER_SKIN : SkinType.DEFAULT;
+      this.isStatic = random.nextInt(10) < 5;
+    }
+
+    /** Layout before the data version, which stores every value. */
+    private void writeLegacy(CompoundTag compoundTag) {
+      if (!this.actionData.isEmpty()) {
+        compoundTag.put(EasyNPCEntityData.DATA_ACTION_DATA_TAG, this.actionData);
+      }
+      compoundTag.putInt(EasyNPCEntityData.DATA_ACTION_PERMISSION_LEVEL_TAG,
+          this.actionPermissionLevel);
+      compoundTag.putBoolean(EasyNPCEntityData.DATA_ACTION_DEBUG_TAG, this.actionDebug);
+      compoundTag.putString(EasyNPCEntityData.DATA_DIALOG_TYPE_TAG, this.dialogType.name());
+      compoundTag.putString(EasyNPCEntityData.DATA_DIALOG_TAG, this.dialog);
+      compoundTag.putString(EasyNPCEntityData.DATA_NO_DIALOG_TAG, this.noDialog);
+      compoundTag.putString(EasyNPCEntityData.DATA_NO_DIALOG_BUTTON_TAG, this.noDialogButton);
+      compoundTag.putString(EasyNPCEntityData.DATA_YES_DIALOG_TAG, this.yesDialog);
+      compoundTag.putString(EasyNPCEntityData.DATA_YES_DIALOG_BUTTON_TAG, this.yesDialogButton);
+      if (this.owner != null) {
+        compoundTag.putUUID(EasyNPCEntityData.DATA_OWNER_TAG, this.owner);
+      }
+      compoundTag.putString(EasyNPCEntityData.DATA_PROFESSION_TAG, this.profession);
+      compoundTag.putFloat(EasyNPCEntityData.DATA_SCALE_X_TAG, this.scaleX);
+      compoundTag.putFloat(EasyNPCEntityData.DATA_SCALE_Y_TAG, this.scaleY);
+      compoundTag.putFloat(EasyNPCEntityData.DATA_SCALE_Z_TAG, this.scaleZ);
+      compoundTag.putString(EasyNPCEntityData.DATA_SKIN_TAG, this.skin);
+      compoundTag.putString(EasyNPCEntityData.DATA_SKIN_URL_TAG, this.skinURL);
+      if (this.skinUUID != null) {
+        compoundTag.putUUID(EasyNPCEntityData.DATA_SKIN_UUID_TAG, this.skinUUID);
+      }
+      compoundTag.putString(EasyNPCEntityData.DATA_SKIN_TYPE_TAG, this.skinType.name());
+      compoundTag.putString(EasyNPCEntityData.DATA_VARIANT_TAG, this.variant);
+      compoundTag.putBoolean(EasyNPCEntityData.DATA_STATIC_TAG, this.isStatic);
+    }
+
+    /** Current layout, which only stores values which differ from their defaults. */
+    private void writeSparse(CompoundTag compoundTag) {
+      compoundTag.putInt(EasyNPCEntityData.DATA_VERSION_TAG, EasyNPCEntityData.DATA_VERSION);
+      if (!this.actionData.isEmpty()) {
+        compoundTag.put(EasyNPCEntityData.DATA_ACTION_DATA_TAG, this.actionData);
+      }
+      if (this.actionPermissionLevel != 0) {
+        compoundTag.putInt(EasyNPCEntityData.DATA_ACTION_PERMISSION_LEVEL_TAG,
+            this.actionPermissionLevel);
+      }
+      if (this.actionDebug) {
+        compoundTag.putBoolean(EasyNPCEntityData.DATA_ACTION_DEBUG_TAG, true);
+      }
+      if (this.dialogType != DialogType.NONE) {
+        compoundTag.putString(EasyNPCEntityData.DATA_DIALOG_TYPE_TAG, this.dialogType.name());
+      }
+      if (!this.dialog.isEmpty()) {
+        compoundTag.putString(EasyNPCEntityData.DATA_DIALOG_TAG, this.dialog);
+      }
+      if (!this.noDialog.isEmpty()) {
+        compoundTag.putString(EasyNPCEntityData.DATA_NO_DIALOG_TAG, this.noDialog);
+      }
+      if (!DialogData.DEFAULT_NO_DIALOG_BUTTON.equals(this.noDialogButton)) {
+        compoundTag.putString(EasyNPCEntityData.DATA_NO_DIALOG_BUTTON_TAG, this.noDialogButton);
+      }
+      if (!this.yesDialog.isEmpty()) {
+        compoundTag.putString(EasyNPCEntityData.DATA_YES_DIALOG_TAG, this.yesDialog);
+      }
+      if (!DialogData.DEFAULT_YES_DIALOG_BUTTON.equals(this.yesDialogButton)) {
+        compoundTag.putString(EasyNPCEntityData.DATA_YES_DIALOG_BUTTON_TAG,
+            this.yesDialogButton);
+      }
+      if (this.owner != null) {
+        compoundTag.putUUID(EasyNPCEntityData.DATA_OWNER_TAG, this.owner);
+      }
+      if (!DEFAULT_PROFESSION.equals(this.profession)) {
+        compoundTag.putString(EasyNPCEntityData.DATA_PROFESSION_TAG, this.profession);
+      }
+      if (this.scaleX != DEFAULT_SCALE) {
+        compoundTag.putFloat(EasyNPCEntityData.DATA_SCALE_X_TAG, this.scaleX);
+      }
+      if (this.scaleY != DEFAULT_SCALE) {
+        compoundTag.putFloat(EasyNPCEntityData.DATA_SCALE_Y_TAG, this.scaleY);
+      }
+      if (this.scaleZ != DEFAULT_SCALE) {
+        compoundTag.putFloat(EasyNPCEntityData.DATA_SCALE_Z_TAG, this.scaleZ);
+      }
+      if (!this.skin.isEmpty()) {
+        compoundTag.putString(EasyNPCEntityData.DATA_SKIN_TAG, this.skin);
+      }
+      if (!this.skinURL.isEmpty()) {
+        compoundTag.putString(EasyNPCEntityData.DATA_SKIN_URL_TAG, this.skinURL);
+      }
+      if (this.skinUUID != null) {
+        compoundTag.putUUID(EasyNPCEntityData.DATA_SKIN_UUID_TAG, this.skinUUID);
+      }
+      if (this.skinType != SkinType.DEFAULT) {
+        compoundTag.putString(EasyNPCEntityData.DATA_SKIN_TYPE_TAG, this.skinType.name());
+      }
+      if (!DEFAULT_VARIANT.equals(this.variant)) {
+        compoundTag.putString(EasyNPCEntityData.DATA_VARIANT_TAG, this.variant);
+      }
+      if (this.isStatic) {
+        compoundTag.putBoolean(EasyNPCEntityData.DATA_STATIC_TAG, true);
+      }
+    }
+  }
+
+}
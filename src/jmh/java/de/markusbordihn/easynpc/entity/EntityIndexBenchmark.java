@@ -0,0 +1,175 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Compares the {@link EntityIndex} queries against the former full scan over all registered NPCs.
+ * Dimensions and entity types are simple string keys, so no level or registry is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityIndexBenchmark {
+
+  private static final String[] DIMENSIONS = {"overworld", "the_nether", "the_end"};
+  private static final String[] ENTITY_TYPES =
+      {"fairy", "humanoid", "humanoid_slim", "skeleton", "villager"};
+  private static final int NUMBER_OF_OWNERS = 500;
+  private static final int CHUNK_RANGE = 256;
+
+  @Param({"50000"})
+  private int numberOfEntities;
+
+  private final List<TestEntity> entities = new ArrayList<>();
+  private final EntityIndex<TestEntity, String, String> entityIndex = new EntityIndex<>();
+  private UUID[] owners;
+  private TestEntity movingEntity;
+  private int moveCounter = 0;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    this.owners = new UUID[NUMBER_OF_OWNERS];
+    for (int i = 0; i < NUMBER_OF_OWNERS; i++) {
+      this.owners[i] = new UUID(random.nextLong(), random.nextLong());
+    }
+    for (int i = 0; i < this.numberOfEntities; i++) {
+      TestEntity entity = new TestEntity(new UUID(random.nextLong(), random.nextLong()),
+          DIMENSIONS[random.nextInt(DIMENSIONS.length)],
+          ChunkPos.asLong(random.nextInt(CHUNK_RANGE), random.nextInt(CHUNK_RANGE)),
+          ENTITY_TYPES[random.nextInt(ENTITY_TYPES.length)],
+          random.nextInt(4) == 0 ? null : this.owners[random.nextInt(NUMBER_OF_OWNERS)]);
+      this.entities.add(entity);
+      this.entityIndex.add(entity.uuid, entity, entity.dimension, entity.chunk, entity.entityType,
+          entity.owner);
+    }
+    this.movingEntity = this.entities.get(0);
+  }
+
+  @Benchmark
+  public int chunkQueryIndex() {
+    return this.entityIndex.getByChunk(DIMENSIONS[0], ChunkPos.asLong(64, 64)).size();
+  }
+
+  @Benchmark
+  public int chunkQueryScan() {
+    long chunk = ChunkPos.asLong(64, 64);
+    int result = 0;
+    for (TestEntity entity : this.entities) {
+      if (entity.dimension.equals(DIMENSIONS[0]) && entity.chunk == chunk) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  @Benchmark
+  public int chunkRegionQueryIndex() {
+    return this.entityIndex.getByChunkRegion(DIMENSIONS[0], 60, 60, 75, 75).size();
+  }
+
+  @Benchmark
+  public int chunkRegionQueryScan() {
+    int result = 0;
+    for (TestEntity entity : this.entities) {
+      int x = ChunkPos.getX(entity.chunk);
+      int z = ChunkPos.getZ(entity.chunk);
+      if (entity.dimension.equals(DIMENSIONS[0]) && x >= 60 && x <= 75 && z >= 60 && z <= 75) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  @Benchmark
+  public int ownerQueryIndex() {
+    return this.entityIndex.getByOwner(this.owners[7]).size();
+  }
+
+  @Benchmark
+  public int ownerQueryScan() {
+    UUID owner = this.owners[7];
+    int result = 0;
+    for (TestEntity entity : this.entities) {
+      if (owner.equals(entity.owner)) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  @Benchmark
+  public int dimensionTypeQueryIndex() {
+    return this.entityIndex.getByType(DIMENSIONS[1], ENTITY_TYPES[4]).size();
+  }
+
+  @Benchmark
+  public int dimensionTypeQueryScan() {
+    int result = 0;
+    for (TestEntity entity : this.entities) {
+      if (entity.dimension.equals(DIMENSIONS[1]) && entity.entityType.equals(ENTITY_TYPES[4])) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  /** Costs of keeping the index up to date, when a NPC is moving into another chunk. */
+  @Benchmark
+  public void chunkChangeUpdate() {
+    TestEntity entity = this.movingEntity;
+    long chunk = ChunkPos.asLong(this.moveCounter++ % CHUNK_RANGE, 0);
+    this.entityIndex.update(entity.uuid, entity, entity.dimension, chunk, entity.entityType,
+        entity.owner);
+  }
+
+  private static final class TestEntity {
+    private final UUID uuid;
+    private final String dimension;
+    private final long chunk;
+    private final String entityType;
+    private final UUID owner;
+
+    private TestEntity(UUID uuid, String dimension, long chunk, String entityType, UUID owner) {
+      this.uuid = uuid;
+      this.dimension = dimension;
+      this.chunk = chunk;
+      this.entityType = entityType;
+      this.owner = owner;
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.markusbordihn.easynpc.utils.TextTemplate.Placeholder;
+
+/**
+ * Compares the compiled {@link TextTemplate} against the former String.replace chain of
+ * ActionUtils.parseAction and DialogUtils.parseDialog. Both sides get the same already resolved
+ * names, so only the substitution itself is measured. Run with the gc profiler for allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextTemplateBenchmark {
+
+  private static final String NPC_NAME = "Jane Doe";
+  private static final String PLAYER_NAME = "Steve";
+
+  @Param({"action", "dialog", "plain"})
+  private String textType;
+
+  private String text;
+  private final String[] values = new String[Placeholder.values().length];
+
+  @Setup
+  public void setup() {
+    switch (this.textType) {
+      case "action":
+        this.text = "/give @initiator minecraft:diamond 1";
+        break;
+      case "dialog":
+        this.text = "Hello @initiator, I am @npc. Nice to meet you @initiator, "
+            + "if you need anything just ask @npc again.";
+        break;
+      default:
+        this.text = "Hello there, nice weather today, isn't it?";
+    }
+    this.values[Placeholder.NPC.ordinal()] = NPC_NAME;
+    this.values[Placeholder.INITIATOR.ordinal()] = PLAYER_NAME;
+    if (!replaceChain().equals(textTemplate())) {
+      throw new IllegalStateException("Different output for " + this.text);
+    }
+  }
+
+  @Benchmark
+  public String replaceChain() {
+    String output = this.text;
+    output = output.replace("@npc", NPC_NAME);
+    output = output.replace("@initiator", PLAYER_NAME);
+    return output;
+  }
+
+  @Benchmark
+  public String textTemplate() {
+    return TextTemplate.compile(this.text).render(this.values);
+  }
+
+}
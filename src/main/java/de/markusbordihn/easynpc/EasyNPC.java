@@ -31,6 +31,7 @@ import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import de.markusbordihn.easynpc.client.model.ModModelLayers;
 import de.markusbordihn.easynpc.client.renderer.ClientRenderer;
 import de.markusbordihn.easynpc.client.screen.ClientScreens;
+import de.markusbordihn.easynpc.entity.ModDataSerializers;
 import de.markusbordihn.easynpc.entity.npc.ModEntityType;
 import de.markusbordihn.easynpc.item.ModItems;
 import de.markusbordihn.easynpc.menu.ModMenuTypes;
@@ -49,6 +50,9 @@ public class EasyNPC {
 
     modEventBus.addListener(NetworkHandler::registerNetworkHandler);
 
+    log.info("{} Data Serializers ...", Constants.LOG_REGISTER_PREFIX);
+    ModDataSerializers.DATA_SERIALIZERS.register(modEventBus);
+
     log.info("{} Entities ...", Constants.LOG_REGISTER_PREFIX);
     ModEntityType.ENTITIES.register(modEventBus);
 
@@ -25,6 +25,7 @@ import java.util.Map.Entry;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.network.FriendlyByteBuf;
 
 public class ActionDataHelper {
 
@@ -43,6 +44,16 @@ public class ActionDataHelper {
     return compoundTag;
   }
 
+  public static CompoundTag setAction(Map<ActionType, String> actionData, ActionType actionType,
+      String action) {
+    EnumMap<ActionType, String> actions = new EnumMap<>(ActionType.class);
+    actions.putAll(actionData);
+    if (actionType != ActionType.NONE) {
+      actions.put(actionType, action);
+    }
+    return saveActionData(actions);
+  }
+
   public static String getAction(CompoundTag compoundTag, ActionType actionType) {
     if (actionType != ActionType.NONE) {
       Map<ActionType, String> actions = readActionData(compoundTag);
@@ -112,6 +123,28 @@ public class ActionDataHelper {
     return actions;
   }
 
+  public static void writeActionData(FriendlyByteBuf buffer, Map<ActionType, String> actions) {
+    buffer.writeVarInt(actions.size());
+    for (Entry<ActionType, String> actionEntry : actions.entrySet()) {
+      buffer.writeVarInt(actionEntry.getKey().ordinal());
+      buffer.writeUtf(actionEntry.getValue());
+    }
+  }
+
+  public static Map<ActionType, String> readActionData(FriendlyByteBuf buffer) {
+    EnumMap<ActionType, String> actions = new EnumMap<>(ActionType.class);
+    ActionType[] actionTypes = ActionType.values();
+    int numberOfActions = buffer.readVarInt();
+    for (int i = 0; i < numberOfActions; ++i) {
+      int actionTypeId = buffer.readVarInt();
+      String action = buffer.readUtf();
+      if (actionTypeId > 0 && actionTypeId < actionTypes.length) {
+        actions.put(actionTypes[actionTypeId], action);
+      }
+    }
+    return actions;
+  }
+
   public static boolean hasActionData(CompoundTag compoundTag) {
     if (compoundTag.contains(DATA_ACTIONS_TAG)) {
       ListTag listTag = compoundTag.getList(DATA_ACTIONS_TAG, 10);
@@ -0,0 +1,206 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.action;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.fml.loading.FileUtils;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.entity.EasyNPCEntity;
+
+/**
+ * Simple action profiler, which records count, total and max execution time and a latency
+ * histogram per NPC and action type, while sampling is enabled.
+ */
+public class ActionProfiler {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  // Upper bounds of the latency histogram buckets in microseconds, the last bucket is open.
+  private static final long[] HISTOGRAM_BOUNDS = {100, 500, 1000, 5000, 10000, 50000};
+  private static final String[] HISTOGRAM_LABELS =
+      {"<0.1ms", "<0.5ms", "<1ms", "<5ms", "<10ms", "<50ms", ">=50ms"};
+
+  private static final Map<ProfileKey, ActionProfile> actionProfiles = new ConcurrentHashMap<>();
+  private static boolean enabled = false;
+  private static long startTime = 0;
+
+  protected ActionProfiler() {}
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void start() {
+    actionProfiles.clear();
+    startTime = System.currentTimeMillis();
+    enabled = true;
+  }
+
+  public static void stop() {
+    enabled = false;
+  }
+
+  public static long getSampleTime() {
+    return startTime > 0 ? System.currentTimeMillis() - startTime : 0;
+  }
+
+  public static void record(EasyNPCEntity entity, ActionType actionType, long executionTime) {
+    if (!enabled) {
+      return;
+    }
+    actionProfiles.computeIfAbsent(new ProfileKey(entity.getUUID(), actionType),
+        key -> new ActionProfile(key, entity.getName().getString())).record(executionTime);
+  }
+
+  public static List<ActionProfile> getTopProfiles(int limit) {
+    List<ActionProfile> profiles = new ArrayList<>(actionProfiles.values());
+    profiles.sort(Comparator.comparingLong(ActionProfile::getMaxTime).reversed());
+    return profiles.size() > limit ? profiles.subList(0, limit) : profiles;
+  }
+
+  public static Path dump() throws IOException {
+    Path profileDirectory = FileUtils.getOrCreateDirectory(
+        FMLPaths.GAMEDIR.get().resolve(Constants.MOD_ID).resolve("profile"), Constants.MOD_ID);
+    Path file = profileDirectory.resolve("action_profile_"
+        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")) + ".txt");
+    List<ActionProfile> profiles = getTopProfiles(Integer.MAX_VALUE);
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(String.format("%s action profile, sampled %d ms, %d entries%n",
+          Constants.MOD_NAME, getSampleTime(), profiles.size()));
+      writer.write(String.format("uuid;name;action;count;total_ms;avg_ms;max_ms;%s%n",
+          String.join(";", HISTOGRAM_LABELS)));
+      for (ActionProfile profile : profiles) {
+        StringBuilder histogram = new StringBuilder();
+        for (long value : profile.getHistogram()) {
+          histogram.append(';').append(value);
+        }
+        writer.write(String.format("%s;%s;%s;%d;%.3f;%.3f;%.3f%s%n", profile.getUUID(),
+            profile.getName(), profile.getActionType(), profile.getCount(),
+            profile.getTotalTime() / 1_000_000.0, profile.getAverageTime() / 1_000_000.0,
+            profile.getMaxTime() / 1_000_000.0, histogram));
+      }
+    }
+    log.info("Dumped {} action profiles to {}", profiles.size(), file);
+    return file;
+  }
+
+  private static class ProfileKey {
+    private final UUID uuid;
+    private final ActionType actionType;
+
+    ProfileKey(UUID uuid, ActionType actionType) {
+      this.uuid = uuid;
+      this.actionType = actionType;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (!(object instanceof ProfileKey profileKey)) {
+        return false;
+      }
+      return this.actionType == profileKey.actionType && this.uuid.equals(profileKey.uuid);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.uuid, this.actionType);
+    }
+  }
+
+  public static class ActionProfile {
+    private final ProfileKey profileKey;
+    private final String name;
+    private final long[] histogram = new long[HISTOGRAM_LABELS.length];
+    private long count = 0;
+    private long totalTime = 0;
+    private long maxTime = 0;
+
+    ActionProfile(ProfileKey profileKey, String name) {
+      this.profileKey = profileKey;
+      this.name = name;
+    }
+
+    synchronized void record(long executionTime) {
+      this.count++;
+      this.totalTime += executionTime;
+      this.maxTime = Math.max(this.maxTime, executionTime);
+      long executionTimeMicros = executionTime / 1000;
+      int bucket = 0;
+      while (bucket < HISTOGRAM_BOUNDS.length && executionTimeMicros >= HISTOGRAM_BOUNDS[bucket]) {
+        bucket++;
+      }
+      this.histogram[bucket]++;
+    }
+
+    public UUID getUUID() {
+      return this.profileKey.uuid;
+    }
+
+    public ActionType getActionType() {
+      return this.profileKey.actionType;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    public synchronized long getCount() {
+      return this.count;
+    }
+
+    public synchronized long getTotalTime() {
+      return this.totalTime;
+    }
+
+    public synchronized long getAverageTime() {
+      return this.count > 0 ? this.totalTime / this.count : 0;
+    }
+
+    public synchronized long getMaxTime() {
+      return this.maxTime;
+    }
+
+    public synchronized long[] getHistogram() {
+      return this.histogram.clone();
+    }
+  }
+
+}
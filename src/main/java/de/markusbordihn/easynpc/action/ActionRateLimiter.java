@@ -0,0 +1,165 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.action;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.CommonConfig;
+import de.markusbordihn.easynpc.entity.EasyNPCEntity;
+
+/**
+ * Token bucket based rate limiter for NPC actions, keyed by player and by NPC. The limiter is only
+ * used on the server thread, so the buckets are not synchronized.
+ */
+@EventBusSubscriber
+public class ActionRateLimiter {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final CommonConfig.Config COMMON = CommonConfig.COMMON;
+
+  private static final Map<UUID, TokenBucket> playerBuckets = new HashMap<>();
+  private static final Map<UUID, TokenBucket> entityBuckets = new HashMap<>();
+  private static final AtomicLong rejectedPlayerActions = new AtomicLong();
+  private static final AtomicLong rejectedEntityActions = new AtomicLong();
+
+  protected ActionRateLimiter() {}
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedOutEvent(PlayerEvent.PlayerLoggedOutEvent event) {
+    playerBuckets.remove(event.getPlayer().getUUID());
+  }
+
+  @SubscribeEvent
+  public static void handleEntityLeaveWorldEvent(EntityLeaveWorldEvent event) {
+    Entity entity = event.getEntity();
+    if (entity instanceof EasyNPCEntity && !event.getWorld().isClientSide()) {
+      entityBuckets.remove(entity.getUUID());
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleServerStoppingEvent(ServerStoppingEvent event) {
+    playerBuckets.clear();
+    entityBuckets.clear();
+  }
+
+  /** Returns true, if the player has no action token left, without consuming a token. */
+  public static boolean isPlayerLimited(ServerPlayer serverPlayer) {
+    if (!COMMON.rateLimiterEnabled.get() || serverPlayer == null) {
+      return false;
+    }
+    TokenBucket playerBucket = playerBuckets.get(serverPlayer.getUUID());
+    if (playerBucket != null && !playerBucket.hasToken(COMMON.rateLimiterPlayerBurst.get(),
+        COMMON.rateLimiterPlayerActionsPerSecond.get(), System.nanoTime())) {
+      rejectedPlayerActions.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /** Consumes one token of the player and the entity bucket, if both have a token left. */
+  public static boolean tryAcquire(ServerPlayer serverPlayer, EasyNPCEntity entity) {
+    if (!COMMON.rateLimiterEnabled.get()) {
+      return true;
+    }
+    long now = System.nanoTime();
+
+    TokenBucket playerBucket = null;
+    if (serverPlayer != null) {
+      int playerBurst = COMMON.rateLimiterPlayerBurst.get();
+      playerBucket = playerBuckets.computeIfAbsent(serverPlayer.getUUID(),
+          key -> new TokenBucket(playerBurst, now));
+      if (!playerBucket.hasToken(playerBurst, COMMON.rateLimiterPlayerActionsPerSecond.get(),
+          now)) {
+        rejectedPlayerActions.incrementAndGet();
+        return false;
+      }
+    }
+
+    int entityBurst = COMMON.rateLimiterEntityBurst.get();
+    TokenBucket entityBucket =
+        entityBuckets.computeIfAbsent(entity.getUUID(), key -> new TokenBucket(entityBurst, now));
+    if (!entityBucket.hasToken(entityBurst, COMMON.rateLimiterEntityActionsPerSecond.get(),
+        now)) {
+      rejectedEntityActions.incrementAndGet();
+      return false;
+    }
+
+    if (playerBucket != null) {
+      playerBucket.consume();
+    }
+    entityBucket.consume();
+    return true;
+  }
+
+  public static long getRejectedPlayerActions() {
+    return rejectedPlayerActions.get();
+  }
+
+  public static long getRejectedEntityActions() {
+    return rejectedEntityActions.get();
+  }
+
+  public static void resetCounters() {
+    rejectedPlayerActions.set(0);
+    rejectedEntityActions.set(0);
+  }
+
+  private static class TokenBucket {
+    private double tokens;
+    private long lastRefillTime;
+
+    TokenBucket(int capacity, long now) {
+      this.tokens = capacity;
+      this.lastRefillTime = now;
+    }
+
+    boolean hasToken(int capacity, int tokensPerSecond, long now) {
+      long elapsedTime = now - this.lastRefillTime;
+      if (elapsedTime > 0) {
+        this.tokens =
+            Math.min(capacity, this.tokens + elapsedTime * tokensPerSecond / 1_000_000_000.0);
+        this.lastRefillTime = now;
+      }
+      return this.tokens >= 1.0;
+    }
+
+    void consume() {
+      this.tokens -= 1.0;
+    }
+  }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.action;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.CommonConfig;
+
+/**
+ * Server-side action scheduler, which queues action executions and drains them at the end of each
+ * server tick within a configurable time budget. The queue is processed in FIFO order, so the
+ * order of actions per NPC is preserved.
+ */
+@EventBusSubscriber
+public class ActionScheduler {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final CommonConfig.Config COMMON = CommonConfig.COMMON;
+
+  private static final Queue<QueuedAction> actionQueue = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger queueDepth = new AtomicInteger();
+  private static final AtomicInteger maxQueueDepth = new AtomicInteger();
+  private static final AtomicLong executedActions = new AtomicLong();
+  private static final AtomicLong rejectedActions = new AtomicLong();
+  private static final AtomicLong totalWaitTime = new AtomicLong();
+  private static final AtomicLong maxWaitTime = new AtomicLong();
+
+  protected ActionScheduler() {}
+
+  public static void schedule(Object owner, Runnable action) {
+    if (!COMMON.actionSchedulerEnabled.get()) {
+      action.run();
+      return;
+    }
+    if (queueDepth.get() >= COMMON.actionSchedulerMaxQueueSize.get()) {
+      log.warn("Action queue is full ({} actions), rejecting action for {}", queueDepth.get(),
+          owner);
+      rejectedActions.incrementAndGet();
+      return;
+    }
+    actionQueue.add(new QueuedAction(owner, action, System.nanoTime()));
+    maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+  }
+
+  @SubscribeEvent
+  public static void handleServerTickEvent(TickEvent.ServerTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || actionQueue.isEmpty()) {
+      return;
+    }
+
+    // At least one action is executed per tick, to make sure that the queue is always drained.
+    long startTime = System.nanoTime();
+    long budget = TimeUnit.MILLISECONDS.toNanos(COMMON.actionSchedulerTickBudget.get());
+    QueuedAction queuedAction;
+    do {
+      queuedAction = actionQueue.poll();
+      if (queuedAction == null) {
+        break;
+      }
+      queueDepth.decrementAndGet();
+      execute(queuedAction);
+    } while (System.nanoTime() - startTime < budget);
+  }
+
+  @SubscribeEvent
+  public static void handleServerStoppingEvent(ServerStoppingEvent event) {
+    if (!actionQueue.isEmpty()) {
+      log.info("Discarding {} queued actions ...", queueDepth.get());
+      actionQueue.clear();
+      queueDepth.set(0);
+    }
+  }
+
+  private static void execute(QueuedAction queuedAction) {
+    long waitTime = System.nanoTime() - queuedAction.queueTime;
+    totalWaitTime.addAndGet(waitTime);
+    maxWaitTime.accumulateAndGet(waitTime, Math::max);
+    executedActions.incrementAndGet();
+    try {
+      queuedAction.action.run();
+    } catch (Exception exception) {
+      log.error("Unable to execute queued action for {}:", queuedAction.owner, exception);
+    }
+  }
+
+  public static int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  public static int getMaxQueueDepth() {
+    return maxQueueDepth.get();
+  }
+
+  public static long getExecutedActions() {
+    return executedActions.get();
+  }
+
+  public static long getRejectedActions() {
+    return rejectedActions.get();
+  }
+
+  public static double getAverageWaitTimeMillis() {
+    long executed = executedActions.get();
+    return executed > 0 ? totalWaitTime.get() / (executed * 1_000_000.0) : 0.0;
+  }
+
+  public static double getMaxWaitTimeMillis() {
+    return maxWaitTime.get() / 1_000_000.0;
+  }
+
+  public static void resetMetrics() {
+    maxQueueDepth.set(queueDepth.get());
+    executedActions.set(0);
+    rejectedActions.set(0);
+    totalWaitTime.set(0);
+    maxWaitTime.set(0);
+  }
+
+  private static class QueuedAction {
+    private final Object owner;
+    private final Runnable action;
+    private final long queueTime;
+
+    QueuedAction(Object owner, Runnable action, long queueTime) {
+      this.owner = owner;
+      this.action = action;
+      this.queueTime = queueTime;
+    }
+  }
+
+}
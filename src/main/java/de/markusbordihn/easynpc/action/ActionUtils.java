@@ -22,23 +22,15 @@ package de.markusbordihn.easynpc.action;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.LivingEntity;
 
+import de.markusbordihn.easynpc.utils.TextTemplate;
+
 public class ActionUtils {
 
   public static String parseAction(String text, LivingEntity entity, ServerPlayer player) {
     if (text == null) {
       return "";
     }
-    String output = text;
-    if (!text.startsWith("/")) {
-      text = "/" + text;
-    }
-    if (entity != null) {
-      output = output.replace("@npc", entity.getName().getString());
-    }
-    if (player != null) {
-      output = output.replace("@initiator", player.getName().getString());
-    }
-    return output;
+    return TextTemplate.compile(text).render(entity, player);
   }
 
 }
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.dialog;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.screens.Screen;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.client.screen.DialogScreen;
+import de.markusbordihn.easynpc.client.screen.configuration.dialog.DialogConfigurationScreen;
+import de.markusbordihn.easynpc.dialog.DialogData;
+import de.markusbordihn.easynpc.entity.EasyNPCEntity;
+import de.markusbordihn.easynpc.entity.EntityManager;
+import de.markusbordihn.easynpc.network.NetworkHandler;
+
+@OnlyIn(Dist.CLIENT)
+@EventBusSubscriber(value = Dist.CLIENT)
+public class ClientDialogManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static Map<UUID, DialogData> dialogDataCache = new ConcurrentHashMap<>();
+
+  protected ClientDialogManager() {}
+
+  @SubscribeEvent
+  public static void handleLoggedOutEvent(ClientPlayerNetworkEvent.LoggedOutEvent event) {
+    dialogDataCache.clear();
+  }
+
+  public static void handleDialogData(UUID uuid, DialogData dialogData) {
+    dialogDataCache.put(uuid, dialogData);
+    updateEntity(uuid, dialogData);
+  }
+
+  public static void handleDialogDataHash(UUID uuid, String hash) {
+    DialogData dialogData = dialogDataCache.get(uuid);
+    if (dialogData == null || !dialogData.getHash().equals(hash)) {
+      log.debug("Dialog data {} for {} is not cached, requesting full dialog data ...", hash, uuid);
+      NetworkHandler.requestDialogData(uuid);
+      return;
+    }
+    updateEntity(uuid, dialogData);
+  }
+
+  private static void updateEntity(UUID uuid, DialogData dialogData) {
+    EasyNPCEntity easyNPCEntity = EntityManager.getEasyNPCEntityByUUID(uuid);
+    if (easyNPCEntity == null) {
+      return;
+    }
+    boolean dialogDataChanged = !dialogData.equals(easyNPCEntity.getDialogData());
+    easyNPCEntity.setDialogData(dialogData);
+
+    // Refresh already opened dialog screens, e.g. after a requested dialog data reply.
+    Minecraft minecraft = Minecraft.getInstance();
+    Screen screen = minecraft.screen;
+    if (!dialogDataChanged || screen == null) {
+      return;
+    }
+    if (screen instanceof DialogScreen dialogScreen && uuid.equals(dialogScreen.getUUID())) {
+      dialogScreen.updateDialog();
+    } else if (screen instanceof DialogConfigurationScreen<?> dialogConfigurationScreen
+        && uuid.equals(dialogConfigurationScreen.getUUID())) {
+      screen.init(minecraft, screen.width, screen.height);
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.dialog;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.Options;
+import net.minecraft.client.gui.Font;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraft.util.FormattedCharSequence;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.easynpc.Constants;
+
+/**
+ * LRU cache for the line layout of dialog texts, which is shared by all dialog screens and cleared
+ * on resource reloads (e.g. font or language changes).
+ */
+@OnlyIn(Dist.CLIENT)
+@EventBusSubscriber(value = Dist.CLIENT, bus = EventBusSubscriber.Bus.MOD)
+public class DialogLayoutCache {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final int MAX_CACHED_LAYOUTS = 64;
+
+  private static final Map<String, List<FormattedCharSequence>> layoutCache =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+            Map.Entry<String, List<FormattedCharSequence>> eldest) {
+          return size() > MAX_CACHED_LAYOUTS;
+        }
+      };
+
+  protected DialogLayoutCache() {}
+
+  @SubscribeEvent
+  public static void handleRegisterClientReloadListenersEvent(
+      RegisterClientReloadListenersEvent event) {
+    event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> clear());
+  }
+
+  public static List<FormattedCharSequence> getLines(Font font, String text, int width) {
+    if (text == null || text.isEmpty()) {
+      return Collections.emptyList();
+    }
+    String key = getLayoutKey(text, width);
+    List<FormattedCharSequence> lines = layoutCache.get(key);
+    if (lines == null) {
+      lines = Collections.unmodifiableList(font.split(new TextComponent(text), width));
+      layoutCache.put(key, lines);
+    }
+    return lines;
+  }
+
+  public static void clear() {
+    if (!layoutCache.isEmpty()) {
+      log.debug("Clearing {} cached dialog layouts ...", layoutCache.size());
+      layoutCache.clear();
+    }
+  }
+
+  private static String getLayoutKey(String text, int width) {
+    Options options = Minecraft.getInstance().options;
+    return options.languageCode + ':' + options.forceUnicodeFont + ':' + width + ':' + text;
+  }
+
+}
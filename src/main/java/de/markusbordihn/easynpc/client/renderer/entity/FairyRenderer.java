@@ -25,6 +25,7 @@ import java.util.Map;
 import com.mojang.blaze3d.vertex.PoseStack;
 
 import net.minecraft.Util;
+import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.client.renderer.entity.HumanoidMobRenderer;
 import net.minecraft.core.BlockPos;
@@ -66,10 +67,22 @@ public class FairyRenderer extends HumanoidMobRenderer<EasyNPCEntity, FairyModel
       case INSECURE_REMOTE_URL:
         return PlayerTextureManager.getOrCreateTextureWithDefault(entity, DEFAULT_TEXTURE);
       default:
-        return TEXTURE_BY_VARIANT.getOrDefault(entity.getVariant(), DEFAULT_TEXTURE);
+        if (!entity.hasVariantTextureLocation()) {
+          entity.setVariantTextureLocation(
+              TEXTURE_BY_VARIANT.getOrDefault(entity.getVariant(), DEFAULT_TEXTURE));
+        }
+        return entity.getVariantTextureLocation();
     }
   }
 
+  @Override
+  public void render(EasyNPCEntity entity, float entityYaw, float partialTicks, PoseStack poseStack,
+      MultiBufferSource buffer, int packedLight) {
+    // Map the model to the skin atlas region, if the skin is part of a skin atlas.
+    super.render(entity, entityYaw, partialTicks, poseStack,
+        PlayerTextureManager.getBufferSource(entity, buffer), packedLight);
+  }
+
   @Override
   protected void scale(EasyNPCEntity entity, PoseStack poseStack, float unused) {
     if (entity.isBaby()) {
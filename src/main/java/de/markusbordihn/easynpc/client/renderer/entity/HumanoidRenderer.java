@@ -31,6 +31,7 @@ import net.minecraft.Util;
 import net.minecraft.client.model.HumanoidModel;
 import net.minecraft.client.model.PlayerModel;
 import net.minecraft.client.model.geom.ModelLayers;
+import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.client.renderer.entity.MobRenderer;
 import net.minecraft.client.renderer.entity.layers.CustomHeadLayer;
@@ -84,10 +85,22 @@ public class HumanoidRenderer extends MobRenderer<EasyNPCEntity, PlayerModel<Eas
       case INSECURE_REMOTE_URL:
         return PlayerTextureManager.getOrCreateTextureWithDefault(entity, DEFAULT_TEXTURE);
       default:
-        return TEXTURE_BY_VARIANT.getOrDefault(entity.getVariant(), DEFAULT_TEXTURE);
+        if (!entity.hasVariantTextureLocation()) {
+          entity.setVariantTextureLocation(
+              TEXTURE_BY_VARIANT.getOrDefault(entity.getVariant(), DEFAULT_TEXTURE));
+        }
+        return entity.getVariantTextureLocation();
     }
   }
 
+  @Override
+  public void render(EasyNPCEntity entity, float entityYaw, float partialTicks, PoseStack poseStack,
+      MultiBufferSource buffer, int packedLight) {
+    // Map the model to the skin atlas region, if the skin is part of a skin atlas.
+    super.render(entity, entityYaw, partialTicks, poseStack,
+        PlayerTextureManager.getBufferSource(entity, buffer), packedLight);
+  }
+
   @Override
   protected void scale(EasyNPCEntity entity, PoseStack poseStack, float unused) {
     if (entity.isBaby()) {
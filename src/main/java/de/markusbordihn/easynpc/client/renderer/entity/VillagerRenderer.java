@@ -30,6 +30,7 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import net.minecraft.Util;
 import net.minecraft.client.model.VillagerModel;
 import net.minecraft.client.model.geom.ModelLayers;
+import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
 import net.minecraft.client.renderer.entity.MobRenderer;
 import net.minecraft.client.renderer.entity.layers.CrossedArmsItemLayer;
@@ -131,6 +132,14 @@ public class VillagerRenderer extends MobRenderer<EasyNPCEntity, VillagerModel<E
     }
   }
 
+  @Override
+  public void render(EasyNPCEntity entity, float entityYaw, float partialTicks, PoseStack poseStack,
+      MultiBufferSource buffer, int packedLight) {
+    // Map the model to the skin atlas region, if the skin is part of a skin atlas.
+    super.render(entity, entityYaw, partialTicks, poseStack,
+        PlayerTextureManager.getBufferSource(entity, buffer), packedLight);
+  }
+
   @Override
   protected void scale(EasyNPCEntity entity, PoseStack poseStack, float unused) {
     if (entity.isBaby()) {
@@ -57,8 +57,14 @@ public class ProfessionLayer<T extends EasyNPCEntity, M extends EntityModel<T>>
       return;
     }
     M model = this.getParentModel();
-    ResourceLocation resourceLocation =
-        textures.getOrDefault(livingEntity.getProfession(), Constants.BLANK_ENTITY_TEXTURE);
+    ResourceLocation resourceLocation;
+    if (livingEntity.hasProfessionTextureLocation()) {
+      resourceLocation = livingEntity.getProfessionTextureLocation();
+    } else {
+      resourceLocation =
+          textures.getOrDefault(livingEntity.getProfession(), Constants.BLANK_ENTITY_TEXTURE);
+      livingEntity.setProfessionTextureLocation(resourceLocation);
+    }
     renderColoredCutoutModel(model, resourceLocation, poseStack, buffer, lightLevel, livingEntity,
         1.0F, 1.0F, 1.0F);
   }
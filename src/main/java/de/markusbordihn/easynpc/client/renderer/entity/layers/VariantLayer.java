@@ -57,8 +57,14 @@ public class VariantLayer<T extends EasyNPCEntity, M extends EntityModel<T>>
       return;
     }
     M model = this.getParentModel();
-    ResourceLocation resourceLocation =
-        textures.getOrDefault(livingEntity.getVariant(), Constants.BLANK_ENTITY_TEXTURE);
+    ResourceLocation resourceLocation;
+    if (livingEntity.hasVariantTextureLocation()) {
+      resourceLocation = livingEntity.getVariantTextureLocation();
+    } else {
+      resourceLocation =
+          textures.getOrDefault(livingEntity.getVariant(), Constants.BLANK_ENTITY_TEXTURE);
+      livingEntity.setVariantTextureLocation(resourceLocation);
+    }
     renderColoredCutoutModel(model, resourceLocation, poseStack, buffer, lightLevel, livingEntity,
         1.0F, 1.0F, 1.0F);
   }
@@ -44,6 +44,7 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.action.ActionType;
+import de.markusbordihn.easynpc.client.dialog.DialogLayoutCache;
 import de.markusbordihn.easynpc.dialog.DialogType;
 import de.markusbordihn.easynpc.dialog.DialogUtils;
 import de.markusbordihn.easynpc.entity.EasyNPCEntity;
@@ -112,6 +113,18 @@ public class DialogScreen extends AbstractContainerScreen<DialogMenu> {
     }
   }
 
+  public UUID getUUID() {
+    return this.uuid;
+  }
+
+  /** Re-reads the dialog from the entity, e.g. when the dialog data arrives after opening. */
+  public void updateDialog() {
+    this.clearWidgets();
+    this.yesDialogButton = null;
+    this.noDialogButton = null;
+    initDialog();
+  }
+
   private void setDialog(String text) {
     if (text == null || text.isBlank()) {
       return;
@@ -123,8 +136,8 @@ public class DialogScreen extends AbstractContainerScreen<DialogMenu> {
         DialogUtils.parseDialog(text, this.entity, minecraft != null ? minecraft.player : null);
     this.dialogComponent = new TextComponent(this.dialog);
 
-    // Split dialog text to lines.
-    this.cachedDialogComponents = this.font.split(this.dialogComponent, 176);
+    // Split dialog text to lines, re-using the cached layout of former dialogs.
+    this.cachedDialogComponents = DialogLayoutCache.getLines(this.font, this.dialog, 176);
     this.numberOfDialogLines = Math.min(128 / font.lineHeight, this.cachedDialogComponents.size());
   }
 
@@ -145,14 +158,18 @@ public class DialogScreen extends AbstractContainerScreen<DialogMenu> {
     this.topPos = (this.height - this.imageHeight) / 2;
     this.leftPos = (this.width - this.imageWidth) / 2;
 
-    // Dialog text.
-    this.dialogType = this.entity.getDialogType();
-    setDialog(this.entity.getDialog());
+    // Dialog text and buttons.
+    initDialog();
 
     // Action for open dialog.
     if (this.actions.containsKey(ActionType.ON_OPEN_DIALOG)) {
       NetworkHandler.triggerAction(this.uuid, ActionType.ON_OPEN_DIALOG);
     }
+  }
+
+  private void initDialog() {
+    this.dialogType = this.entity.getDialogType();
+    setDialog(this.entity.getDialog());
 
     // Render additional Buttons for Yes/No Dialog.
     if (this.dialogType == DialogType.YES_NO) {
@@ -78,6 +78,10 @@ public class ConfigurationScreen<T extends ConfigurationMenu> extends AbstractCo
     this.uuid = this.entity.getUUID();
   }
 
+  public UUID getUUID() {
+    return this.uuid;
+  }
+
   public void closeScreen() {
     Minecraft minecraft = this.minecraft;
     if (minecraft != null) {
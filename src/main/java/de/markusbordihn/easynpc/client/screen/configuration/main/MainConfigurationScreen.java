@@ -24,6 +24,7 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.components.Checkbox;
 import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.screens.ConfirmScreen;
 import net.minecraft.client.gui.screens.Screen;
@@ -55,6 +56,7 @@ public class MainConfigurationScreen extends ConfigurationScreen<MainConfigurati
   protected Button removeEntityButton = null;
   protected Button saveNameButton = null;
   protected Button scalingButton = null;
+  protected Checkbox staticCheckbox = null;
   private EditBox nameBox;
 
   // Cache
@@ -193,6 +195,21 @@ public class MainConfigurationScreen extends ConfigurationScreen<MainConfigurati
               NetworkHandler.openConfiguration(uuid, ConfigurationType.SCALING);
             }));
 
+    buttonTopPosition = buttonTopPosition + buttonHeight + buttonSpace;
+
+    // Static Option
+    this.staticCheckbox = this.addRenderableWidget(new Checkbox(buttonLeftPosition,
+        buttonTopPosition, 20, 20,
+        new TranslatableComponent(Constants.TEXT_CONFIG_PREFIX + "static")
+            .withStyle(ChatFormatting.WHITE),
+        this.entity.isStatic()) {
+      @Override
+      public void onPress() {
+        NetworkHandler.staticChange(uuid, !entity.isStatic());
+        super.onPress();
+      }
+    });
+
     // Delete Button
     this.removeEntityButton =
         this.addRenderableWidget(new Button(this.rightPos - 60, this.bottomPos - 30, 50, 20,
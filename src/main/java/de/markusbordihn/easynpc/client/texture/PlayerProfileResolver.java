@@ -0,0 +1,262 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.JsonObject;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.fml.loading.FileUtils;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.ClientConfig;
+import de.markusbordihn.easynpc.utils.PlayersUtils;
+
+/**
+ * Resolves the skin texture url of a player over the session server without blocking the caller.
+ * Concurrent requests for the same player share a single lookup and the results are cached in
+ * memory and on disk, so that a restart does not query the session server again until the ttl is
+ * expired.
+ */
+@OnlyIn(Dist.CLIENT)
+public class PlayerProfileResolver {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final String LOG_PREFIX = "[Player Profile Resolver]";
+  private static final int CONNECT_TIMEOUT = 5000;
+  private static final int READ_TIMEOUT = 10000;
+  private static final String SKIN_URL_TAG = "SkinURL";
+  private static final String TIMESTAMP_TAG = "Timestamp";
+
+  private static final ClientConfig.Config CLIENT = ClientConfig.CLIENT;
+
+  private static final Map<UUID, CompletableFuture<String>> pendingRequests =
+      new ConcurrentHashMap<>();
+  private static final Map<UUID, CachedProfile> profileCache =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CachedProfile> eldest) {
+          return size() > CLIENT.playerProfileCacheSize.get();
+        }
+      };
+
+  private static Path profileCachePath = null;
+
+  protected PlayerProfileResolver() {}
+
+  /**
+   * Returns the skin texture url for the given player, an empty string if the player has no skin
+   * or null if the session server could not be reached.
+   */
+  public static CompletableFuture<String> getUserTexture(UUID userUUID) {
+    if (userUUID == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Return cached result, if not expired.
+    CachedProfile cachedProfile = getCachedProfile(userUUID);
+    if (cachedProfile != null && !cachedProfile.isExpired()) {
+      return CompletableFuture.completedFuture(cachedProfile.skinURL());
+    }
+
+    // Share any pending request for the same player.
+    CompletableFuture<String> future = new CompletableFuture<>();
+    CompletableFuture<String> pendingRequest = pendingRequests.putIfAbsent(userUUID, future);
+    if (pendingRequest != null) {
+      return pendingRequest;
+    }
+
+    // Removing the request outside of the map update, because the future could already be done.
+    future.whenComplete((skinURL, exception) -> pendingRequests.remove(userUUID, future));
+    CompletableFuture.supplyAsync(() -> resolveUserTexture(userUUID),
+        TextureManager.getTextureExecutor()).whenComplete((skinURL, exception) -> {
+          if (exception != null) {
+            future.completeExceptionally(exception);
+          } else {
+            future.complete(skinURL);
+          }
+        });
+    return future;
+  }
+
+  public static void clearCache() {
+    synchronized (profileCache) {
+      profileCache.clear();
+    }
+  }
+
+  private static CachedProfile getCachedProfile(UUID userUUID) {
+    synchronized (profileCache) {
+      return profileCache.get(userUUID);
+    }
+  }
+
+  private static void putCachedProfile(UUID userUUID, CachedProfile cachedProfile) {
+    synchronized (profileCache) {
+      profileCache.put(userUUID, cachedProfile);
+    }
+  }
+
+  /** Resolves the skin texture url from disk or the session server, executed by a worker. */
+  private static String resolveUserTexture(UUID userUUID) {
+    CachedProfile cachedProfile = readCachedProfile(userUUID);
+    if (cachedProfile != null && !cachedProfile.isExpired()) {
+      putCachedProfile(userUUID, cachedProfile);
+      return cachedProfile.skinURL();
+    }
+
+    String sessionURL = CLIENT.playerProfileSessionServer.get() + userUUID;
+    String data;
+    try {
+      data = getRemoteData(sessionURL);
+    } catch (IOException ioException) {
+      log.error("{} Unable to get user texture with {}, because of: {}", LOG_PREFIX, sessionURL,
+          ioException);
+      // Fall back to any expired result instead of showing the default texture.
+      return cachedProfile != null ? cachedProfile.skinURL() : null;
+    }
+    if (data == null || data.isEmpty()) {
+      log.error("{} Unable to get user texture with {}", LOG_PREFIX, sessionURL);
+      return cachedProfile != null ? cachedProfile.skinURL() : null;
+    }
+
+    String skinURL = PlayersUtils.getUserTextureFromSessionResponse(data);
+    cachedProfile = new CachedProfile(skinURL, System.currentTimeMillis());
+    putCachedProfile(userUUID, cachedProfile);
+    writeCachedProfile(userUUID, cachedProfile);
+    return skinURL;
+  }
+
+  private static String getRemoteData(String remoteURL) throws IOException {
+    URLConnection connection = new URL(remoteURL).openConnection();
+    connection.setConnectTimeout(CONNECT_TIMEOUT);
+    connection.setReadTimeout(READ_TIMEOUT);
+    if (connection instanceof HttpURLConnection) {
+      int responseCode = ((HttpURLConnection) connection).getResponseCode();
+      if (responseCode != HttpURLConnection.HTTP_OK) {
+        // The session server answers with 204 (no content) for unknown players.
+        return responseCode == HttpURLConnection.HTTP_NO_CONTENT ? "{}" : null;
+      }
+    }
+    try (InputStream inputStream = connection.getInputStream()) {
+      return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static CachedProfile readCachedProfile(UUID userUUID) {
+    File file = getProfileCacheFile(userUUID);
+    if (!file.exists()) {
+      return null;
+    }
+    try {
+      JsonObject jsonObject =
+          PlayersUtils.getJsonObject(Files.readString(file.toPath(), StandardCharsets.UTF_8));
+      if (jsonObject == null || !jsonObject.has(SKIN_URL_TAG)
+          || !jsonObject.has(TIMESTAMP_TAG)) {
+        return null;
+      }
+      return new CachedProfile(jsonObject.get(SKIN_URL_TAG).getAsString(),
+          jsonObject.get(TIMESTAMP_TAG).getAsLong());
+    } catch (IOException | IllegalStateException | UnsupportedOperationException exception) {
+      log.warn("{} Unable to read cached profile {}: {}", LOG_PREFIX, file, exception);
+      return null;
+    }
+  }
+
+  private static void writeCachedProfile(UUID userUUID, CachedProfile cachedProfile) {
+    JsonObject jsonObject = new JsonObject();
+    jsonObject.addProperty(SKIN_URL_TAG, cachedProfile.skinURL());
+    jsonObject.addProperty(TIMESTAMP_TAG, cachedProfile.timestamp());
+    File file = getProfileCacheFile(userUUID);
+    try {
+      // Write to a temporary file first to avoid partial files for concurrent readers.
+      Path tempFile = Files.createTempFile(file.getParentFile().toPath(), userUUID.toString(),
+          ".tmp");
+      Files.writeString(tempFile, jsonObject.toString(), StandardCharsets.UTF_8);
+      Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ioException) {
+      log.warn("{} Unable to write cached profile {}: {}", LOG_PREFIX, file, ioException);
+    }
+  }
+
+  private static File getProfileCacheFile(UUID userUUID) {
+    return new File(getProfileCacheDirectory().toFile(), userUUID + ".json");
+  }
+
+  private static synchronized Path getProfileCacheDirectory() {
+    if (profileCachePath == null) {
+      Path cacheDirectory =
+          Paths.get(TextureManager.getTextureCacheDirectory().toString(), "profile");
+      if (!cacheDirectory.toFile().exists()) {
+        log.info("{} Creating player profile cache directory at {}", LOG_PREFIX, cacheDirectory);
+        FileUtils.getOrCreateDirectory(cacheDirectory, Constants.MOD_ID);
+      }
+      profileCachePath = cacheDirectory;
+    }
+    return profileCachePath;
+  }
+
+  private static class CachedProfile {
+
+    private final String skinURL;
+    private final long timestamp;
+
+    CachedProfile(String skinURL, long timestamp) {
+      this.skinURL = skinURL;
+      this.timestamp = timestamp;
+    }
+
+    public String skinURL() {
+      return this.skinURL;
+    }
+
+    public long timestamp() {
+      return this.timestamp;
+    }
+
+    public boolean isExpired() {
+      return System.currentTimeMillis() - timestamp > TimeUnit.MINUTES
+          .toMillis(CLIENT.playerProfileCacheTTL.get());
+    }
+  }
+
+}
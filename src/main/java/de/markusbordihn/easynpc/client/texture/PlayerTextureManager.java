@@ -27,12 +27,22 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 
+import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.mojang.blaze3d.platform.NativeImage;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.resources.ResourceLocation;
 
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.fml.loading.FileUtils;
 
 import de.markusbordihn.easynpc.Constants;
@@ -41,6 +51,7 @@ import de.markusbordihn.easynpc.skin.SkinModel;
 import de.markusbordihn.easynpc.skin.SkinType;
 import de.markusbordihn.easynpc.utils.PlayersUtils;
 
+@OnlyIn(Dist.CLIENT)
 public class PlayerTextureManager {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
@@ -51,7 +62,7 @@ public class PlayerTextureManager {
   private static HashMap<TextureModelKey, ResourceLocation> playerTextureCache = new HashMap<>();
   private static HashMap<TextureModelKey, SkinType> playerTextureSkinTypeCache = new HashMap<>();
   private static HashMap<TextureModelKey, String> playerTextureSkinURLCache = new HashMap<>();
-  private static HashSet<UUID> playerTextureReloadProtection = new HashSet<>();
+  private static HashSet<TextureModelKey> playerTextureRequests = new HashSet<>();
 
   protected PlayerTextureManager() {}
 
@@ -61,7 +72,8 @@ public class PlayerTextureManager {
 
   public static Set<UUID> getPlayerTextureCacheKeys(SkinModel skinModel) {
     HashSet<UUID> hashSet = new HashSet<>();
-    for (TextureModelKey textureModelKey : playerTextureCache.keySet()) {
+    // Skin data is kept for released textures, so that they could be selected again.
+    for (TextureModelKey textureModelKey : playerTextureSkinTypeCache.keySet()) {
       if (skinModel.equals(textureModelKey.getSkinModel())
           && hasPlayerTextureSkinData(textureModelKey)) {
         hashSet.add(textureModelKey.getUUID());
@@ -93,6 +105,7 @@ public class PlayerTextureManager {
 
     // Check if there is already any cached resource location.
     TextureModelKey textureModelKey = new TextureModelKey(skinUUID.get(), entity.getSkinModel());
+    TextureLifecycleManager.holdTexture(entity, textureModelKey);
     ResourceLocation resourceLocation = playerTextureCache.get(textureModelKey);
     if (resourceLocation != null) {
       // Return resource location and update reference, if needed.
@@ -103,64 +116,127 @@ public class PlayerTextureManager {
       return resourceLocation;
     }
 
-    ResourceLocation createdResourceLocation = createTexture(textureModelKey, entity);
-    return createdResourceLocation != null ? createdResourceLocation : defaultResourceLocation;
+    // Create texture in the background and use the default texture in the meantime.
+    createTexture(entity, textureModelKey, entity.getSkinType(), entity.getSkinURL());
+    return defaultResourceLocation;
   }
 
-  private static ResourceLocation createTexture(TextureModelKey textureModelKey,
-      EasyNPCEntity entity) {
-    return createTexture(textureModelKey, entity.getSkinType(), entity.getSkinURL());
+  /**
+   * Returns a buffer source which maps the texture coordinates of the entity model to its skin
+   * atlas region, or the given buffer source if the skin of the entity is not part of an atlas.
+   */
+  public static MultiBufferSource getBufferSource(EasyNPCEntity entity,
+      MultiBufferSource bufferSource) {
+    switch (entity.getSkinType()) {
+      case PLAYER_SKIN:
+      case SECURE_REMOTE_URL:
+      case INSECURE_REMOTE_URL:
+        Optional<UUID> skinUUID = entity.getSkinUUID();
+        if (!skinUUID.isPresent()) {
+          return bufferSource;
+        }
+        SkinAtlasRegion skinAtlasRegion = TextureManager
+            .getSkinAtlasRegion(new TextureModelKey(skinUUID.get(), entity.getSkinModel()));
+        return skinAtlasRegion != null
+            ? SkinAtlasManager.getBufferSource(bufferSource, skinAtlasRegion)
+            : bufferSource;
+      default:
+        return bufferSource;
+    }
   }
 
-  private static ResourceLocation createTexture(TextureModelKey textureModelKey, SkinType skinType,
-      String skinURL) {
-
-    // Check the local texture cache for any matching files.
-    SkinModel skinModel = textureModelKey.getSkinModel();
-    String targetDirectory = getTextureCacheDirectory(skinModel).toString();
-    ResourceLocation localTextureCache =
-        TextureManager.getCachedTexture(textureModelKey, targetDirectory);
-    if (localTextureCache != null) {
-      playerTextureCache.put(textureModelKey, localTextureCache);
-      playerTextureSkinTypeCache.put(textureModelKey, skinType);
-      playerTextureSkinURLCache.put(textureModelKey, skinURL);
-      return localTextureCache;
+  /** Releases the loaded texture, it will be loaded from the texture cache again if needed. */
+  public static boolean releaseTexture(TextureModelKey textureModelKey) {
+    if (playerTextureCache.remove(textureModelKey) == null) {
+      return false;
     }
+    playerTextureRequests.remove(textureModelKey);
+    return TextureManager.releaseTexture(textureModelKey);
+  }
 
-    // Reload protection to avoid multiple http requests in the same session.
-    UUID skinUUID = textureModelKey.getUUID();
-    if (playerTextureReloadProtection.contains(skinUUID)) {
-      return null;
+  private static void createTexture(EasyNPCEntity entity, TextureModelKey textureModelKey,
+      SkinType skinType, String skinURL) {
+    // Request protection to avoid multiple http requests and file reads in the same session.
+    if (!playerTextureRequests.add(textureModelKey)) {
+      return;
     }
-    playerTextureReloadProtection.add(skinUUID);
 
-    // Get skin texture location depending on skin type.
-    String textureSkinURL = null;
+    String targetDirectory =
+        getTextureCacheDirectory(textureModelKey.getSkinModel()).toString();
+    TextureLoadingExecutor
+        .supplyAsync(entity, () -> getCachedTexture(textureModelKey, skinURL, targetDirectory))
+        .thenCompose(cachedTexture -> {
+          // Use the local texture cache, if possible.
+          if (cachedTexture != null) {
+            return CompletableFuture.completedFuture(cachedTexture);
+          }
+          return getTextureSkinURL(textureModelKey, skinType, skinURL)
+              .thenCompose(textureSkinURL -> TextureLoadingExecutor.supplyAsync(entity,
+                  () -> loadTexture(textureModelKey, textureSkinURL, targetDirectory)));
+        }).whenCompleteAsync((loadedTexture, exception) -> {
+          if (loadedTexture != null) {
+            registerTexture(textureModelKey, skinType, loadedTexture.getRight(),
+                loadedTexture.getLeft(), loadedTexture.getMiddle());
+          } else if (exception != null) {
+            Throwable cause =
+                exception instanceof CompletionException ? exception.getCause() : exception;
+            if (cause instanceof CancellationException) {
+              // Allow a new request, if the entity is loaded again.
+              playerTextureRequests.remove(textureModelKey);
+            } else {
+              log.error("{} Unable to create texture for {} because of:", LOG_PREFIX,
+                  textureModelKey, cause);
+            }
+          }
+        }, Minecraft.getInstance());
+  }
+
+  /** Returns the skin texture location depending on the skin type. */
+  private static CompletableFuture<String> getTextureSkinURL(TextureModelKey textureModelKey,
+      SkinType skinType, String skinURL) {
     switch (skinType) {
       case PLAYER_SKIN:
-        textureSkinURL = PlayersUtils.getUserTexture(skinUUID);
-        break;
+        return PlayerProfileResolver.getUserTexture(textureModelKey.getUUID());
       case SECURE_REMOTE_URL:
       case INSECURE_REMOTE_URL:
-        if (PlayersUtils.isValidUrl(skinURL)) {
-          textureSkinURL = skinURL;
-        }
-        break;
+        return CompletableFuture
+            .completedFuture(PlayersUtils.isValidUrl(skinURL) ? skinURL : null);
       default:
+        return CompletableFuture.completedFuture(null);
     }
+  }
+
+  /** Reads and hashes the cached texture, executed by a worker thread. */
+  private static Triple<NativeImage, String, String> getCachedTexture(
+      TextureModelKey textureModelKey, String skinURL, String targetDirectory) {
+    NativeImage nativeImage = TextureManager.getCachedNativeImage(textureModelKey, targetDirectory);
+    return nativeImage != null
+        ? Triple.of(nativeImage, TextureManager.getPixelHash(nativeImage), skinURL)
+        : null;
+  }
 
+  /** Downloads, stores, decodes and hashes the remote texture, executed by a worker thread. */
+  static Triple<NativeImage, String, String> loadTexture(TextureModelKey textureModelKey,
+      String textureSkinURL, String targetDirectory) {
     // Check if we got any valid texture skin location.
     if (textureSkinURL == null || textureSkinURL.isEmpty()) {
       return null;
     }
+    NativeImage nativeImage =
+        TextureManager.getRemoteNativeImage(textureModelKey, textureSkinURL, targetDirectory);
+    return nativeImage != null
+        ? Triple.of(nativeImage, TextureManager.getPixelHash(nativeImage), textureSkinURL)
+        : null;
+  }
 
-    // Add Texture to texture manager.
+  /** Uploads the loaded texture, executed on the render thread. */
+  private static void registerTexture(TextureModelKey textureModelKey, SkinType skinType,
+      String skinURL, NativeImage nativeImage, String pixelHash) {
     ResourceLocation resourceLocation =
-        TextureManager.addRemoteTexture(textureModelKey, textureSkinURL, targetDirectory);
+        TextureManager.registerTexture(textureModelKey, nativeImage, pixelHash);
     playerTextureCache.put(textureModelKey, resourceLocation);
     playerTextureSkinTypeCache.put(textureModelKey, skinType);
-    playerTextureSkinURLCache.put(textureModelKey, textureSkinURL);
-    return resourceLocation;
+    playerTextureSkinURLCache.put(textureModelKey, skinURL);
   }
 
   private static Path getTextureCacheDirectory(SkinModel skinModel) {
@@ -0,0 +1,222 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mojang.blaze3d.platform.NativeImage;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.resources.ResourceLocation;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.ClientConfig;
+
+/**
+ * Packs 64x64 and 64x32 skins into shared atlas pages, so that NPCs with skins on the same page
+ * use the same render type. The texture coordinates of the models are mapped to the region of the
+ * skin by wrapping the buffer source, see {@link #getBufferSource}.
+ */
+@OnlyIn(Dist.CLIENT)
+public class SkinAtlasManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final String LOG_PREFIX = "[Skin Atlas Manager]";
+
+  static final int PAGE_SIZE = 1024;
+  static final int SLOT_SIZE = 64;
+  static final int SLOTS_PER_ROW = PAGE_SIZE / SLOT_SIZE;
+  static final int SLOTS_PER_PAGE = SLOTS_PER_ROW * SLOTS_PER_ROW;
+
+  private static final ClientConfig.Config CLIENT = ClientConfig.CLIENT;
+
+  private static final List<SkinAtlasPage> pages = new ArrayList<>();
+
+  protected SkinAtlasManager() {}
+
+  public static boolean isEnabled() {
+    return CLIENT.skinAtlasEnabled.get();
+  }
+
+  public static boolean isSupported(NativeImage nativeImage) {
+    return nativeImage.getWidth() == SLOT_SIZE
+        && (nativeImage.getHeight() == SLOT_SIZE || nativeImage.getHeight() == SLOT_SIZE / 2);
+  }
+
+  /**
+   * Copies the native image into a free slot of an atlas page and uploads the changed area. Needs
+   * to be called on the render thread, the native image is not closed.
+   */
+  public static SkinAtlasRegion addImage(NativeImage nativeImage) {
+    if (!isSupported(nativeImage)) {
+      return null;
+    }
+
+    // Find page with a free slot or create a new page.
+    SkinAtlasPage page = null;
+    for (SkinAtlasPage existingPage : pages) {
+      if (existingPage.usedSlots < SLOTS_PER_PAGE) {
+        page = existingPage;
+        break;
+      }
+    }
+    if (page == null) {
+      page = createPage();
+    }
+
+    int slot = page.getFreeSlot();
+    int x = (slot % SLOTS_PER_ROW) * SLOT_SIZE;
+    int y = (slot / SLOTS_PER_ROW) * SLOT_SIZE;
+    NativeImage pageImage = page.dynamicTexture.getPixels();
+    pageImage.fillRect(x, y, SLOT_SIZE, SLOT_SIZE, 0);
+    nativeImage.copyRect(pageImage, 0, 0, x, y, nativeImage.getWidth(), nativeImage.getHeight(),
+        false, false);
+
+    // Upload only the changed slot instead of the whole page.
+    page.dynamicTexture.bind();
+    pageImage.upload(0, x, y, x, y, SLOT_SIZE, SLOT_SIZE, false, false, false, false);
+
+    page.slots[slot] = true;
+    page.usedSlots++;
+    return new SkinAtlasRegion(page, slot, x, y, nativeImage.getWidth(), nativeImage.getHeight());
+  }
+
+  /** Frees the slot of the region and releases the page, if it is empty. */
+  public static void releaseRegion(SkinAtlasRegion skinAtlasRegion) {
+    SkinAtlasPage page = skinAtlasRegion.getPage();
+    if (!page.slots[skinAtlasRegion.getSlot()]) {
+      return;
+    }
+    page.slots[skinAtlasRegion.getSlot()] = false;
+    page.usedSlots--;
+    if (page.usedSlots <= 0) {
+      log.debug("{} Releasing empty atlas page {}.", LOG_PREFIX, page.resourceLocation);
+      pages.remove(page);
+      page.released = true;
+      TextureManager.unregisterTexture(page.resourceLocation, page.dynamicTexture);
+    }
+  }
+
+  /**
+   * Returns a buffer source which maps the texture coordinates for the render types of the atlas
+   * page to the given region and passes all other render types through.
+   */
+  public static MultiBufferSource getBufferSource(MultiBufferSource bufferSource,
+      SkinAtlasRegion skinAtlasRegion) {
+    return renderType -> {
+      if (skinAtlasRegion.isRenderType(renderType)) {
+        return new SkinAtlasVertexConsumer(bufferSource.getBuffer(renderType), skinAtlasRegion);
+      }
+      return bufferSource.getBuffer(renderType);
+    };
+  }
+
+  public static int getNumberOfPages() {
+    return pages.size();
+  }
+
+  public static int getNumberOfUsedSlots() {
+    int usedSlots = 0;
+    for (SkinAtlasPage page : pages) {
+      usedSlots += page.usedSlots;
+    }
+    return usedSlots;
+  }
+
+  private static SkinAtlasPage createPage() {
+    // Re-use the location of released pages, to keep the number of memoized render types low.
+    int pageIndex = 0;
+    while (getPage(pageIndex) != null) {
+      pageIndex++;
+    }
+    DynamicTexture dynamicTexture = new DynamicTexture(PAGE_SIZE, PAGE_SIZE, true);
+    ResourceLocation resourceLocation = new ResourceLocation(Constants.MOD_ID,
+        TextureManager.getResourceName("page_" + pageIndex, "skin_atlas"));
+    Minecraft.getInstance().getTextureManager().register(resourceLocation, dynamicTexture);
+    log.info("{} Created skin atlas page {} with {} slots.", LOG_PREFIX, resourceLocation,
+        SLOTS_PER_PAGE);
+    SkinAtlasPage page = new SkinAtlasPage(pageIndex, dynamicTexture, resourceLocation);
+    pages.add(page);
+    return page;
+  }
+
+  private static SkinAtlasPage getPage(int pageIndex) {
+    for (SkinAtlasPage page : pages) {
+      if (page.index == pageIndex) {
+        return page;
+      }
+    }
+    return null;
+  }
+
+  static class SkinAtlasPage {
+
+    private final int index;
+    private final DynamicTexture dynamicTexture;
+    private final ResourceLocation resourceLocation;
+    private final RenderType cutoutRenderType;
+    private final RenderType translucentRenderType;
+    private final RenderType outlineRenderType;
+    private final boolean[] slots = new boolean[SLOTS_PER_PAGE];
+    private int usedSlots = 0;
+    private boolean released = false;
+
+    SkinAtlasPage(int index, DynamicTexture dynamicTexture, ResourceLocation resourceLocation) {
+      this.index = index;
+      this.dynamicTexture = dynamicTexture;
+      this.resourceLocation = resourceLocation;
+
+      // Render types which are used by the living entity renderer for the texture.
+      this.cutoutRenderType = RenderType.entityCutoutNoCull(resourceLocation);
+      this.translucentRenderType = RenderType.itemEntityTranslucentCull(resourceLocation);
+      this.outlineRenderType = RenderType.outline(resourceLocation);
+    }
+
+    ResourceLocation getResourceLocation() {
+      return this.resourceLocation;
+    }
+
+    boolean isRenderType(RenderType renderType) {
+      // Render types are memoized per location, so a new page could share them with this page.
+      return !this.released && (renderType == this.cutoutRenderType
+          || renderType == this.translucentRenderType || renderType == this.outlineRenderType);
+    }
+
+    int getFreeSlot() {
+      for (int slot = 0; slot < SLOTS_PER_PAGE; slot++) {
+        if (!this.slots[slot]) {
+          return slot;
+        }
+      }
+      return -1;
+    }
+  }
+
+}
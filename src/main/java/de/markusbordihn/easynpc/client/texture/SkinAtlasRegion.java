@@ -0,0 +1,73 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.resources.ResourceLocation;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+/** Area of a skin inside of a skin atlas page, which maps texture coordinates to the page. */
+@OnlyIn(Dist.CLIENT)
+public class SkinAtlasRegion {
+
+  private final SkinAtlasManager.SkinAtlasPage page;
+  private final int slot;
+  private final float u0;
+  private final float v0;
+  private final float uScale;
+  private final float vScale;
+
+  SkinAtlasRegion(SkinAtlasManager.SkinAtlasPage page, int slot, int x, int y, int width,
+      int height) {
+    this.page = page;
+    this.slot = slot;
+    this.u0 = (float) x / SkinAtlasManager.PAGE_SIZE;
+    this.v0 = (float) y / SkinAtlasManager.PAGE_SIZE;
+    this.uScale = (float) width / SkinAtlasManager.PAGE_SIZE;
+    this.vScale = (float) height / SkinAtlasManager.PAGE_SIZE;
+  }
+
+  public ResourceLocation getResourceLocation() {
+    return this.page.getResourceLocation();
+  }
+
+  /** Returns true if the render type is one of the entity render types of the page. */
+  public boolean isRenderType(RenderType renderType) {
+    return this.page.isRenderType(renderType);
+  }
+
+  public float getU(float u) {
+    return this.u0 + u * this.uScale;
+  }
+
+  public float getV(float v) {
+    return this.v0 + v * this.vScale;
+  }
+
+  SkinAtlasManager.SkinAtlasPage getPage() {
+    return this.page;
+  }
+
+  int getSlot() {
+    return this.slot;
+  }
+
+}
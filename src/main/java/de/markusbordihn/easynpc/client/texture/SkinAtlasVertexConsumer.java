@@ -0,0 +1,97 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+/** Maps the texture coordinates of a model to its region in the skin atlas page. */
+@OnlyIn(Dist.CLIENT)
+public class SkinAtlasVertexConsumer implements VertexConsumer {
+
+  private final VertexConsumer vertexConsumer;
+  private final SkinAtlasRegion skinAtlasRegion;
+
+  public SkinAtlasVertexConsumer(VertexConsumer vertexConsumer, SkinAtlasRegion skinAtlasRegion) {
+    this.vertexConsumer = vertexConsumer;
+    this.skinAtlasRegion = skinAtlasRegion;
+  }
+
+  @Override
+  public VertexConsumer vertex(double x, double y, double z) {
+    this.vertexConsumer.vertex(x, y, z);
+    return this;
+  }
+
+  @Override
+  public VertexConsumer color(int red, int green, int blue, int alpha) {
+    this.vertexConsumer.color(red, green, blue, alpha);
+    return this;
+  }
+
+  @Override
+  public VertexConsumer uv(float u, float v) {
+    this.vertexConsumer.uv(this.skinAtlasRegion.getU(u), this.skinAtlasRegion.getV(v));
+    return this;
+  }
+
+  @Override
+  public VertexConsumer overlayCoords(int u, int v) {
+    this.vertexConsumer.overlayCoords(u, v);
+    return this;
+  }
+
+  @Override
+  public VertexConsumer uv2(int u, int v) {
+    this.vertexConsumer.uv2(u, v);
+    return this;
+  }
+
+  @Override
+  public VertexConsumer normal(float x, float y, float z) {
+    this.vertexConsumer.normal(x, y, z);
+    return this;
+  }
+
+  @Override
+  public void endVertex() {
+    this.vertexConsumer.endVertex();
+  }
+
+  @Override
+  public void vertex(float x, float y, float z, float red, float green, float blue, float alpha,
+      float u, float v, int overlayCoords, int lightCoords, float normalX, float normalY,
+      float normalZ) {
+    this.vertexConsumer.vertex(x, y, z, red, green, blue, alpha, this.skinAtlasRegion.getU(u),
+        this.skinAtlasRegion.getV(v), overlayCoords, lightCoords, normalX, normalY, normalZ);
+  }
+
+  @Override
+  public void defaultColor(int red, int green, int blue, int alpha) {
+    this.vertexConsumer.defaultColor(red, green, blue, alpha);
+  }
+
+  @Override
+  public void unsetDefaultColor() {
+    this.vertexConsumer.unsetDefaultColor();
+  }
+
+}
@@ -0,0 +1,501 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.ClientConfig;
+import de.markusbordihn.easynpc.skin.SkinModel;
+import de.markusbordihn.easynpc.utils.PlayersUtils;
+
+/**
+ * In-memory index of the texture cache directory, which is persisted as manifest file. Lookups are
+ * answered by the index instead of the file system and the size of the cache is limited by
+ * removing the least recently used files. Files with identical content are only stored once,
+ * further files are recorded as references to the stored one. The index is loaded and verified
+ * against the directory in the background, lookups fall back to the file system until this is
+ * done.
+ */
+@OnlyIn(Dist.CLIENT)
+public class TextureCacheManifest {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final String LOG_PREFIX = "[Texture Cache Manifest]";
+  private static final String MANIFEST_FILE_NAME = "manifest.json";
+  private static final int MANIFEST_VERSION = 2;
+  private static final long SAVE_DELAY = 5;
+
+  private static final String VERSION_TAG = "Version";
+  private static final String ENTRIES_TAG = "Entries";
+  private static final String SIZE_TAG = "Size";
+  private static final String HASH_TAG = "Hash";
+  private static final String SOURCE_TAG = "Source";
+  private static final String SKIN_MODEL_TAG = "SkinModel";
+  private static final String LAST_ACCESS_TAG = "LastAccess";
+  private static final String LAST_MODIFIED_TAG = "LastModified";
+  private static final String TARGET_TAG = "Target";
+
+  private static final ClientConfig.Config CLIENT = ClientConfig.CLIENT;
+
+  // Access ordered, the first entry is the least recently used one.
+  private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+  private static final Map<String, String> contentIndex = new HashMap<>();
+  private static long totalSize = 0;
+  private static boolean initialized = false;
+  private static boolean ready = false;
+  private static boolean saveScheduled = false;
+
+  protected TextureCacheManifest() {}
+
+  public static boolean isReady() {
+    synchronized (entries) {
+      return ready;
+    }
+  }
+
+  public static int getNumberOfEntries() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public static long getTotalSize() {
+    synchronized (entries) {
+      return totalSize;
+    }
+  }
+
+  /**
+   * Returns the file which holds the cached content for the given file, which could be a different
+   * file for identical content, or null if nothing is cached. Marks the entry as recently used.
+   */
+  public static File getFile(File file) {
+    initialize();
+    synchronized (entries) {
+      if (!ready) {
+        return file.exists() ? file : null;
+      }
+      Entry entry = entries.get(getKey(file));
+      if (entry == null) {
+        return null;
+      }
+      long lastAccess = System.currentTimeMillis();
+      entry.lastAccess = lastAccess;
+      if (entry.target != null) {
+        entry = entries.get(entry.target);
+        if (entry == null) {
+          return null;
+        }
+        entry.lastAccess = lastAccess;
+      }
+      scheduleSave();
+      return entry.file;
+    }
+  }
+
+  /**
+   * Adds a new written file to the cache and removes old files if the cache is too large. If the
+   * same content is already cached, the new file is deleted and the existing file is returned.
+   */
+  public static File addFile(File file, String source, SkinModel skinModel) {
+    initialize();
+    return addEntry(file, createEntry(file, getContentHash(file), source, skinModel));
+  }
+
+  /** Adds a new written file with the given content, without reading the file again. */
+  public static File addFile(File file, ByteBuffer content, String source, SkinModel skinModel) {
+    initialize();
+    return addEntry(file, createEntry(file, getContentHash(content), source, skinModel));
+  }
+
+  /** Adds a file which was written again with changed content and keeps its known source. */
+  public static File updateFile(File file, SkinModel skinModel) {
+    String source = "";
+    synchronized (entries) {
+      Entry entry = entries.get(getKey(file));
+      if (entry != null) {
+        source = entry.source;
+      }
+    }
+    return addFile(file, source, skinModel);
+  }
+
+  private static File addEntry(File file, Entry entry) {
+    if (entry == null) {
+      return file;
+    }
+    String key = getKey(file);
+    synchronized (entries) {
+      // Keep existing references, if the file was only written again with the same content.
+      Entry previousEntry = entries.get(key);
+      if (previousEntry != null && previousEntry.target == null
+          && previousEntry.hash.equals(entry.hash)) {
+        previousEntry.lastAccess = entry.lastAccess;
+        scheduleSave();
+        return file;
+      }
+      removeEntry(key);
+      String targetKey = contentIndex.get(entry.hash);
+      if (targetKey != null) {
+        log.debug("{} Content of {} is already cached as {}.", LOG_PREFIX, key, targetKey);
+        deleteFile(file);
+        entry = entry.toReference(targetKey);
+      } else {
+        contentIndex.put(entry.hash, key);
+        totalSize += entry.size;
+      }
+      entries.put(key, entry);
+      if (ready) {
+        evictEntries();
+      }
+      scheduleSave();
+      return targetKey != null ? entries.get(targetKey).file : file;
+    }
+  }
+
+  /** Removes the entry and any references to its content, the file itself is not deleted. */
+  private static Entry removeEntry(String key) {
+    Entry entry = entries.remove(key);
+    if (entry == null || entry.target != null) {
+      return entry;
+    }
+    totalSize -= entry.size;
+    contentIndex.remove(entry.hash, key);
+    entries.values().removeIf(referenceEntry -> key.equals(referenceEntry.target));
+    return entry;
+  }
+
+  /**
+   * Recalculates the content index and the total size. Files with duplicated content are replaced
+   * by references and references without a stored file are removed.
+   */
+  private static void reindex() {
+    contentIndex.clear();
+    totalSize = 0;
+    for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+      Entry entry = mapEntry.getValue();
+      if (entry.target != null) {
+        continue;
+      }
+      String targetKey = contentIndex.putIfAbsent(entry.hash, mapEntry.getKey());
+      if (targetKey != null) {
+        deleteFile(entry.file);
+        mapEntry.setValue(entry.toReference(targetKey));
+      } else {
+        totalSize += entry.size;
+      }
+    }
+    Set<String> storedKeys = new HashSet<>(contentIndex.values());
+    entries.values().removeIf(
+        entry -> entry.target != null && !storedKeys.contains(entry.target));
+  }
+
+  private static void initialize() {
+    synchronized (entries) {
+      if (initialized) {
+        return;
+      }
+      initialized = true;
+    }
+    CompletableFuture.runAsync(TextureCacheManifest::rebuild, TextureManager.getTextureExecutor())
+        .exceptionally(exception -> {
+          log.error("{} Unable to rebuild texture cache manifest:", LOG_PREFIX, exception);
+          return null;
+        });
+  }
+
+  /**
+   * Loads the manifest and verifies it against the cache directory. Known files are only hashed
+   * again if their size or modification time changed, missing files are removed from the index.
+   */
+  private static void rebuild() {
+    Map<String, Entry> knownEntries = loadManifest();
+    if (knownEntries.isEmpty()) {
+      log.info("{} Missing or outdated manifest, rebuilding texture cache index ...", LOG_PREFIX);
+    }
+
+    Path cacheDirectory = TextureManager.getTextureCacheDirectory();
+    Map<String, Entry> scannedEntries = new HashMap<>();
+    try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+      paths.filter(path -> path.toString().endsWith(".png") && Files.isRegularFile(path))
+          .forEach(path -> {
+            File file = path.toFile();
+            String key = getKey(file);
+            Entry knownEntry = knownEntries.get(key);
+            if (knownEntry != null && knownEntry.size == file.length()
+                && knownEntry.lastModified == file.lastModified()) {
+              scannedEntries.put(key, knownEntry);
+            } else {
+              Entry entry = createEntry(file, getContentHash(file),
+                  knownEntry != null ? knownEntry.source : "",
+                  knownEntry != null ? knownEntry.skinModel : null);
+              if (entry != null) {
+                scannedEntries.put(key, entry);
+              }
+            }
+          });
+    } catch (IOException exception) {
+      log.error("{} Unable to scan texture cache directory {}:", LOG_PREFIX, cacheDirectory,
+          exception);
+      return;
+    }
+
+    // References have no file on their own and are verified by the reindex.
+    knownEntries.forEach((key, entry) -> {
+      if (entry.target != null) {
+        scannedEntries.putIfAbsent(key, entry);
+      }
+    });
+
+    synchronized (entries) {
+      // Entries which were added in the meantime are newer than the scanned ones.
+      scannedEntries.keySet().removeAll(entries.keySet());
+      Map<String, Entry> addedEntries = new LinkedHashMap<>(entries);
+      entries.clear();
+      scannedEntries.values().stream()
+          .sorted((a, b) -> Long.compare(a.lastAccess, b.lastAccess))
+          .forEach(entry -> entries.put(getKey(entry), entry));
+      entries.putAll(addedEntries);
+      reindex();
+      ready = true;
+      log.info("{} Indexed {} cached textures with {} bytes.", LOG_PREFIX, entries.size(),
+          totalSize);
+      evictEntries();
+      scheduleSave();
+    }
+  }
+
+  private static void evictEntries() {
+    long maxSize = CLIENT.textureCacheMaxSize.get() * 1024L * 1024L;
+    while (totalSize > maxSize) {
+      // References have no size on their own, so only stored files are evicted.
+      String eldestKey = null;
+      for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+        if (mapEntry.getValue().target == null) {
+          eldestKey = mapEntry.getKey();
+          break;
+        }
+      }
+      if (eldestKey == null) {
+        return;
+      }
+      Entry entry = removeEntry(eldestKey);
+      log.debug("{} Removing least recently used texture {} from cache.", LOG_PREFIX, entry.file);
+      deleteFile(entry.file);
+    }
+  }
+
+  private static void scheduleSave() {
+    if (saveScheduled) {
+      return;
+    }
+    saveScheduled = true;
+    CompletableFuture.runAsync(TextureCacheManifest::saveManifest, CompletableFuture
+        .delayedExecutor(SAVE_DELAY, TimeUnit.SECONDS, TextureManager.getTextureExecutor()));
+  }
+
+  private static Map<String, Entry> loadManifest() {
+    Map<String, Entry> knownEntries = new HashMap<>();
+    Path manifestFile = getManifestFile();
+    if (!Files.exists(manifestFile)) {
+      return knownEntries;
+    }
+    try {
+      JsonObject jsonObject =
+          PlayersUtils.getJsonObject(Files.readString(manifestFile, StandardCharsets.UTF_8));
+      if (jsonObject == null || !jsonObject.has(VERSION_TAG)
+          || jsonObject.get(VERSION_TAG).getAsInt() != MANIFEST_VERSION
+          || !jsonObject.has(ENTRIES_TAG)) {
+        return knownEntries;
+      }
+      Path cacheDirectory = TextureManager.getTextureCacheDirectory();
+      for (Map.Entry<String, JsonElement> jsonEntry : jsonObject.getAsJsonObject(ENTRIES_TAG)
+          .entrySet()) {
+        JsonObject entryObject = jsonEntry.getValue().getAsJsonObject();
+        Entry entry = new Entry(cacheDirectory.resolve(jsonEntry.getKey()).toFile(),
+            entryObject.get(SIZE_TAG).getAsLong(), entryObject.get(HASH_TAG).getAsString(),
+            entryObject.get(SOURCE_TAG).getAsString(),
+            entryObject.has(SKIN_MODEL_TAG)
+                ? SkinModel.valueOf(entryObject.get(SKIN_MODEL_TAG).getAsString())
+                : null,
+            entryObject.get(LAST_ACCESS_TAG).getAsLong(),
+            entryObject.get(LAST_MODIFIED_TAG).getAsLong(),
+            entryObject.has(TARGET_TAG) ? entryObject.get(TARGET_TAG).getAsString() : null);
+        knownEntries.put(jsonEntry.getKey(), entry);
+      }
+    } catch (IOException | RuntimeException exception) {
+      log.warn("{} Ignoring invalid manifest {}: {}", LOG_PREFIX, manifestFile, exception);
+      knownEntries.clear();
+    }
+    return knownEntries;
+  }
+
+  private static void saveManifest() {
+    JsonObject entriesObject = new JsonObject();
+    synchronized (entries) {
+      saveScheduled = false;
+      for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+        Entry entry = mapEntry.getValue();
+        JsonObject entryObject = new JsonObject();
+        entryObject.addProperty(SIZE_TAG, entry.size);
+        entryObject.addProperty(HASH_TAG, entry.hash);
+        entryObject.addProperty(SOURCE_TAG, entry.source);
+        if (entry.skinModel != null) {
+          entryObject.addProperty(SKIN_MODEL_TAG, entry.skinModel.name());
+        }
+        entryObject.addProperty(LAST_ACCESS_TAG, entry.lastAccess);
+        entryObject.addProperty(LAST_MODIFIED_TAG, entry.lastModified);
+        if (entry.target != null) {
+          entryObject.addProperty(TARGET_TAG, entry.target);
+        }
+        entriesObject.add(mapEntry.getKey(), entryObject);
+      }
+    }
+    JsonObject jsonObject = new JsonObject();
+    jsonObject.addProperty(VERSION_TAG, MANIFEST_VERSION);
+    jsonObject.add(ENTRIES_TAG, entriesObject);
+
+    Path manifestFile = getManifestFile();
+    try {
+      Path tempFile = Files.createTempFile(manifestFile.getParent(), MANIFEST_FILE_NAME, ".tmp");
+      Files.writeString(tempFile, jsonObject.toString(), StandardCharsets.UTF_8);
+      Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException exception) {
+      log.error("{} Unable to save manifest {}:", LOG_PREFIX, manifestFile, exception);
+    }
+  }
+
+  private static Entry createEntry(File file, String hash, String source,
+      SkinModel skinModel) {
+    if (hash == null || !file.exists()) {
+      return null;
+    }
+    return new Entry(file, file.length(), hash, source != null ? source : "", skinModel,
+        System.currentTimeMillis(), file.lastModified(), null);
+  }
+
+  private static String getContentHash(File file) {
+    MessageDigest messageDigest = getMessageDigest();
+    try (InputStream inputStream =
+        new DigestInputStream(Files.newInputStream(file.toPath()), messageDigest)) {
+      inputStream.transferTo(OutputStream.nullOutputStream());
+      return HexFormat.of().formatHex(messageDigest.digest());
+    } catch (IOException exception) {
+      log.error("{} Unable to hash file {}:", LOG_PREFIX, file, exception);
+      return null;
+    }
+  }
+
+  private static String getContentHash(ByteBuffer content) {
+    MessageDigest messageDigest = getMessageDigest();
+    messageDigest.update(content.duplicate());
+    return HexFormat.of().formatHex(messageDigest.digest());
+  }
+
+  private static MessageDigest getMessageDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException("SHA-256 is not supported!", exception);
+    }
+  }
+
+  private static void deleteFile(File file) {
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (IOException exception) {
+      log.error("{} Unable to delete cached texture {}:", LOG_PREFIX, file, exception);
+    }
+  }
+
+  private static Path getManifestFile() {
+    return TextureManager.getTextureCacheDirectory().resolve(MANIFEST_FILE_NAME);
+  }
+
+  private static String getKey(File file) {
+    return TextureManager.getTextureCacheDirectory().toAbsolutePath()
+        .relativize(file.toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/');
+  }
+
+  private static String getKey(Entry entry) {
+    return getKey(entry.file);
+  }
+
+  private static class Entry {
+
+    private final File file;
+    private final long size;
+    private final String hash;
+    private final String source;
+    private final SkinModel skinModel;
+    private final long lastModified;
+    private final String target;
+    private long lastAccess;
+
+    Entry(File file, long size, String hash, String source, SkinModel skinModel, long lastAccess,
+        long lastModified, String target) {
+      this.file = file;
+      this.size = size;
+      this.hash = hash;
+      this.source = source;
+      this.skinModel = skinModel;
+      this.lastAccess = lastAccess;
+      this.lastModified = lastModified;
+      this.target = target;
+    }
+
+    /** Returns a reference to the stored file with the same content, which uses no disk space. */
+    Entry toReference(String targetKey) {
+      return new Entry(this.file, 0, this.hash, this.source, this.skinModel, this.lastAccess, 0,
+          targetKey);
+    }
+  }
+
+}
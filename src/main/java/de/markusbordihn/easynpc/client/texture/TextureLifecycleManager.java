@@ -0,0 +1,210 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.Entity;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.RenderGameOverlayEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.ClientConfig;
+import de.markusbordihn.easynpc.entity.EasyNPCEntity;
+
+/**
+ * Tracks which loaded NPCs are using which skin texture. Textures without any NPC are released
+ * after a grace period, or earlier if the loaded textures exceed the configured memory budget.
+ */
+@OnlyIn(Dist.CLIENT)
+@EventBusSubscriber(value = Dist.CLIENT)
+public class TextureLifecycleManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final String LOG_PREFIX = "[Texture Lifecycle Manager]";
+  private static final int CHECK_INTERVAL = 20;
+
+  private static final ClientConfig.Config CLIENT = ClientConfig.CLIENT;
+
+  private static final Map<Integer, TextureModelKey> entityTextures = new HashMap<>();
+  private static final Map<TextureModelKey, TextureHolders> textureHolders = new HashMap<>();
+  private static int ticker = 0;
+  private static int releasedTextures = 0;
+
+  protected TextureLifecycleManager() {}
+
+  /** Marks the texture as used by the entity, needs to be called on the render thread. */
+  public static void holdTexture(Entity entity, TextureModelKey textureModelKey) {
+    long now = System.currentTimeMillis();
+    TextureModelKey formerTextureModelKey = entityTextures.put(entity.getId(), textureModelKey);
+    if (formerTextureModelKey != null && !formerTextureModelKey.equals(textureModelKey)) {
+      removeHolder(entity.getId(), formerTextureModelKey, now);
+    }
+    TextureHolders holders =
+        textureHolders.computeIfAbsent(textureModelKey, key -> new TextureHolders());
+    holders.entityIds.add(entity.getId());
+    holders.lastUsed = now;
+  }
+
+  public static void releaseEntity(Entity entity) {
+    TextureModelKey textureModelKey = entityTextures.remove(entity.getId());
+    if (textureModelKey != null) {
+      removeHolder(entity.getId(), textureModelKey, System.currentTimeMillis());
+    }
+  }
+
+  public static int getNumberOfHeldTextures() {
+    int heldTextures = 0;
+    for (TextureHolders holders : textureHolders.values()) {
+      if (!holders.entityIds.isEmpty()) {
+        heldTextures++;
+      }
+    }
+    return heldTextures;
+  }
+
+  public static int getNumberOfReleasedTextures() {
+    return releasedTextures;
+  }
+
+  @SubscribeEvent
+  public static void handleEntityLeaveWorldEvent(EntityLeaveWorldEvent event) {
+    if (event.getWorld().isClientSide() && event.getEntity() instanceof EasyNPCEntity) {
+      releaseEntity(event.getEntity());
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleWorldUnloadEvent(WorldEvent.Unload event) {
+    if (event.getWorld().isClientSide()) {
+      long now = System.currentTimeMillis();
+      entityTextures.clear();
+      for (TextureHolders holders : textureHolders.values()) {
+        if (!holders.entityIds.isEmpty()) {
+          holders.entityIds.clear();
+          holders.lastUsed = now;
+        }
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleClientTickEvent(TickEvent.ClientTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || ticker++ < CHECK_INTERVAL) {
+      return;
+    }
+    ticker = 0;
+    releaseUnusedTextures();
+  }
+
+  @SubscribeEvent
+  public static void handleRenderGameOverlayEvent(RenderGameOverlayEvent.Text event) {
+    if (!Minecraft.getInstance().options.renderDebug) {
+      return;
+    }
+    event.getRight()
+        .add(String.format("Easy NPC Textures: %d (%d keys, %d held), %d KiB, %d released",
+            TextureManager.getNumberOfTextures(), TextureManager.getNumberOfTextureReferences(),
+            getNumberOfHeldTextures(), TextureManager.getTextureMemorySize() / 1024,
+            releasedTextures));
+    event.getRight().add(String.format("Easy NPC Texture Cache: %d files, %d KiB%s",
+        TextureCacheManifest.getNumberOfEntries(), TextureCacheManifest.getTotalSize() / 1024,
+        TextureCacheManifest.isReady() ? "" : " (indexing)"));
+    event.getRight()
+        .add(String.format("Easy NPC Texture Loading: %d pending, %d executed, %d cancelled",
+            TextureLoadingExecutor.getNumberOfPendingTasks(),
+            TextureLoadingExecutor.getNumberOfExecutedTasks(),
+            TextureLoadingExecutor.getNumberOfCancelledTasks()));
+    if (SkinAtlasManager.getNumberOfPages() > 0) {
+      event.getRight().add(String.format("Easy NPC Skin Atlas: %d pages, %d skins",
+          SkinAtlasManager.getNumberOfPages(), SkinAtlasManager.getNumberOfUsedSlots()));
+    }
+  }
+
+  private static void removeHolder(int entityId, TextureModelKey textureModelKey, long now) {
+    TextureHolders holders = textureHolders.get(textureModelKey);
+    if (holders != null && holders.entityIds.remove(entityId) && holders.entityIds.isEmpty()) {
+      holders.lastUsed = now;
+    }
+  }
+
+  private static void releaseUnusedTextures() {
+    if (textureHolders.isEmpty()) {
+      return;
+    }
+
+    // Collect unused textures, least recently used first.
+    List<Map.Entry<TextureModelKey, TextureHolders>> unusedTextures = new ArrayList<>();
+    for (Map.Entry<TextureModelKey, TextureHolders> entry : textureHolders.entrySet()) {
+      if (entry.getValue().entityIds.isEmpty()) {
+        unusedTextures.add(entry);
+      }
+    }
+    if (unusedTextures.isEmpty()) {
+      return;
+    }
+    unusedTextures.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed));
+
+    long now = System.currentTimeMillis();
+    long gracePeriod = CLIENT.textureReleaseGracePeriod.get() * 1000L;
+    long memoryBudget = CLIENT.textureMemoryBudget.get() * 1024L * 1024L;
+    Set<TextureModelKey> releasedKeys = new HashSet<>();
+    for (Map.Entry<TextureModelKey, TextureHolders> entry : unusedTextures) {
+      boolean expired = now - entry.getValue().lastUsed > gracePeriod;
+      if (!expired && TextureManager.getTextureMemorySize() <= memoryBudget) {
+        break;
+      }
+      if (PlayerTextureManager.releaseTexture(entry.getKey())) {
+        releasedTextures++;
+      }
+      releasedKeys.add(entry.getKey());
+    }
+    if (!releasedKeys.isEmpty()) {
+      textureHolders.keySet().removeAll(releasedKeys);
+      log.debug("{} Released {} unused textures, {} textures with {} bytes are loaded.",
+          LOG_PREFIX, releasedKeys.size(), TextureManager.getNumberOfTextures(),
+          TextureManager.getTextureMemorySize());
+    }
+  }
+
+  private static class TextureHolders {
+
+    private final Set<Integer> entityIds = new HashSet<>();
+    private long lastUsed;
+  }
+
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mojang.math.Vector3f;
+
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.ClientConfig;
+
+/**
+ * Bounded worker pool for loading textures. Tasks for an entity are ordered by the distance of the
+ * entity to the camera, entities outside of the view are handled as if they would be 64 blocks
+ * further away. The priorities are updated every client tick and tasks of entities which are no
+ * longer loaded are cancelled before they are executed. Tasks without an entity are executed
+ * first, because they are short and other tasks are usually waiting for them.
+ */
+@OnlyIn(Dist.CLIENT)
+@EventBusSubscriber(value = Dist.CLIENT)
+public class TextureLoadingExecutor {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final String LOG_PREFIX = "[Texture Loading Executor]";
+  private static final double OUT_OF_VIEW_PENALTY = 64 * 64;
+  private static final double IN_VIEW_MIN_DOT = 0.5;
+
+  private static final ClientConfig.Config CLIENT = ClientConfig.CLIENT;
+
+  private static final List<TextureLoadingTask> pendingTasks = new ArrayList<>();
+  private static final Executor executor = runnable -> execute(null, runnable, null);
+  private static boolean workersStarted = false;
+  private static long executedTasks = 0;
+  private static long cancelledTasks = 0;
+
+  protected TextureLoadingExecutor() {}
+
+  /** Returns an executor for tasks without an entity, which are executed first. */
+  public static Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Executes the supplier for the given entity on a worker thread. The returned future completes
+   * with a {@link CancellationException} if the entity is unloaded before the task is executed.
+   */
+  public static <T> CompletableFuture<T> supplyAsync(Entity entity, Supplier<T> supplier) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    execute(entity, () -> {
+      try {
+        future.complete(supplier.get());
+      } catch (Exception exception) {
+        future.completeExceptionally(exception);
+      }
+    }, () -> future.completeExceptionally(
+        new CancellationException("Texture loading for " + entity + " was cancelled.")));
+    return future;
+  }
+
+  public static int getNumberOfPendingTasks() {
+    synchronized (pendingTasks) {
+      return pendingTasks.size();
+    }
+  }
+
+  public static long getNumberOfExecutedTasks() {
+    synchronized (pendingTasks) {
+      return executedTasks;
+    }
+  }
+
+  public static long getNumberOfCancelledTasks() {
+    synchronized (pendingTasks) {
+      return cancelledTasks;
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleClientTickEvent(TickEvent.ClientTickEvent event) {
+    if (event.phase != TickEvent.Phase.END) {
+      return;
+    }
+
+    Minecraft minecraft = Minecraft.getInstance();
+    Camera camera = minecraft.gameRenderer.getMainCamera();
+    List<TextureLoadingTask> cancelledTaskList = new ArrayList<>();
+    synchronized (pendingTasks) {
+      if (pendingTasks.isEmpty()) {
+        return;
+      }
+      Iterator<TextureLoadingTask> iterator = pendingTasks.iterator();
+      while (iterator.hasNext()) {
+        TextureLoadingTask task = iterator.next();
+        if (task.entity == null) {
+          continue;
+        }
+        if (task.entity.isRemoved() || task.entity.level != minecraft.level) {
+          iterator.remove();
+          cancelledTaskList.add(task);
+        } else if (camera.isInitialized()) {
+          task.priority = getPriority(task.entity, camera);
+        }
+      }
+      cancelledTasks += cancelledTaskList.size();
+    }
+
+    // Complete cancelled tasks outside of the lock, because they could trigger other tasks.
+    for (TextureLoadingTask task : cancelledTaskList) {
+      log.debug("{} Cancelled texture loading for {}.", LOG_PREFIX, task.entity);
+      task.onCancel.run();
+    }
+  }
+
+  private static void execute(Entity entity, Runnable runnable, Runnable onCancel) {
+    Camera camera = entity != null ? Minecraft.getInstance().gameRenderer.getMainCamera() : null;
+    double priority = camera != null && camera.isInitialized() ? getPriority(entity, camera) : 0;
+    synchronized (pendingTasks) {
+      startWorkers();
+      pendingTasks.add(new TextureLoadingTask(entity, runnable, onCancel, priority));
+      pendingTasks.notifyAll();
+    }
+  }
+
+  private static double getPriority(Entity entity, Camera camera) {
+    Vec3 cameraPosition = camera.getPosition();
+    double x = entity.getX() - cameraPosition.x;
+    double y = entity.getY() - cameraPosition.y;
+    double z = entity.getZ() - cameraPosition.z;
+    double distance = x * x + y * y + z * z;
+
+    // Entities in front of the camera are considered as visible.
+    Vector3f lookVector = camera.getLookVector();
+    double dot = x * lookVector.x() + y * lookVector.y() + z * lookVector.z();
+    boolean inView = distance < 4 || dot > IN_VIEW_MIN_DOT * Math.sqrt(distance);
+    return inView ? distance : distance + OUT_OF_VIEW_PENALTY;
+  }
+
+  private static void startWorkers() {
+    if (workersStarted) {
+      return;
+    }
+    workersStarted = true;
+    int numberOfWorkers = CLIENT.textureLoadingThreads.get();
+    log.info("{} Starting {} texture worker threads ...", LOG_PREFIX, numberOfWorkers);
+    for (int i = 0; i < numberOfWorkers; i++) {
+      Thread thread =
+          new Thread(TextureLoadingExecutor::runWorker, "Easy NPC Texture Worker #" + (i + 1));
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  private static void runWorker() {
+    while (true) {
+      TextureLoadingTask task;
+      synchronized (pendingTasks) {
+        while ((task = pollTask()) == null) {
+          try {
+            pendingTasks.wait();
+          } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+        executedTasks++;
+      }
+      try {
+        task.runnable.run();
+      } catch (Exception exception) {
+        log.error("{} Unable to execute texture task:", LOG_PREFIX, exception);
+      }
+    }
+  }
+
+  /** Removes and returns the task with the highest priority, or the oldest one for equal ones. */
+  private static TextureLoadingTask pollTask() {
+    int taskIndex = -1;
+    double taskPriority = Double.MAX_VALUE;
+    for (int i = 0; i < pendingTasks.size(); i++) {
+      double priority = pendingTasks.get(i).priority;
+      if (taskIndex == -1 || priority < taskPriority) {
+        taskIndex = i;
+        taskPriority = priority;
+      }
+    }
+    return taskIndex != -1 ? pendingTasks.remove(taskIndex) : null;
+  }
+
+  private static class TextureLoadingTask {
+
+    private final Entity entity;
+    private final Runnable runnable;
+    private final Runnable onCancel;
+    private double priority;
+
+    TextureLoadingTask(Entity entity, Runnable runnable, Runnable onCancel, double priority) {
+      this.entity = entity;
+      this.runnable = runnable;
+      this.onCancel = onCancel;
+      this.priority = priority;
+    }
+  }
+
+}
@@ -19,20 +19,35 @@
 
 package de.markusbordihn.easynpc.client.texture;
 
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-
-import javax.imageio.ImageIO;
+import java.util.concurrent.Executor;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.lwjgl.system.MemoryUtil;
 
 import com.mojang.blaze3d.platform.NativeImage;
 
@@ -56,86 +71,294 @@ public class TextureManager {
 
   private static final String TEXTURE_PREFIX = Constants.MOD_ID + "_client_texture_";
   private static final String LOG_PREFIX = "[Texture Manager]";
+  private static final int CONNECT_TIMEOUT = 5000;
+  private static final int READ_TIMEOUT = 10000;
+  private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+  private static final int MAX_TEXTURE_FILE_SIZE = 2 * 1024 * 1024;
+  private static final int MAX_TEXTURE_SIZE = 1024;
+  private static final int PNG_HEADER_SIZE = 24;
+  private static final byte[] PNG_SIGNATURE =
+      {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
 
   private static Path textureCachePath = null;
 
+  // Registered textures by pixel content, shared by all texture keys with the same content.
+  private static final Map<String, SharedTexture> sharedTextures = new HashMap<>();
+  private static final Map<TextureModelKey, SharedTexture> registeredTextures = new HashMap<>();
+
   protected TextureManager() {}
 
-  private static ResourceLocation registerTexture(TextureModelKey textureModelKey, File file) {
-    // Using client Texture Manager
-    Minecraft client = Minecraft.getInstance();
-    net.minecraft.client.renderer.texture.TextureManager textureManager =
-        client.getTextureManager();
-
-    // Creative native image from file.
-    NativeImage nativeImage = textureModelKey.getSkinModel() == SkinModel.HUMANOID
-        || textureModelKey.getSkinModel() == SkinModel.HUMANOID_SLIM ? getNativePlayerImage(file)
-            : getNativeImage(file);
-    if (nativeImage == null) {
-      log.error("{} Unable to create native image for file {}.", LOG_PREFIX, file);
-      return null;
+  /** Executor for texture tasks which are not related to a specific entity. */
+  public static Executor getTextureExecutor() {
+    return TextureLoadingExecutor.getExecutor();
+  }
+
+  public static ResourceLocation registerTexture(TextureModelKey textureModelKey,
+      NativeImage nativeImage) {
+    return registerTexture(textureModelKey, nativeImage, getPixelHash(nativeImage));
+  }
+
+  /**
+   * Registers the native image as dynamic texture, needs to be called on the render thread. Images
+   * with the same pixel content share a single texture, in this case the native image is closed.
+   * The pixel hash should be calculated by the loading thread with {@link #getPixelHash}.
+   */
+  public static ResourceLocation registerTexture(TextureModelKey textureModelKey,
+      NativeImage nativeImage, String pixelHash) {
+
+    // Check if the texture key is already registered with the same or with other content.
+    SharedTexture registeredTexture = registeredTextures.get(textureModelKey);
+    if (registeredTexture != null) {
+      if (registeredTexture.hash.equals(pixelHash)) {
+        nativeImage.close();
+        return registeredTexture.resourceLocation;
+      }
+      releaseTexture(textureModelKey);
     }
 
-    // Creative dynamic texture from native image.
-    DynamicTexture dynamicTexture = new DynamicTexture(nativeImage);
+    // Re-use existing texture with the same content.
+    SharedTexture sharedTexture = sharedTextures.get(pixelHash);
+    if (sharedTexture != null) {
+      log.debug("{} Re-using texture {} for {}.", LOG_PREFIX, sharedTexture.resourceLocation,
+          textureModelKey);
+      nativeImage.close();
+    } else if (SkinAtlasManager.isEnabled() && SkinAtlasManager.isSupported(nativeImage)) {
+      // Pack texture into a shared skin atlas page.
+      SkinAtlasRegion skinAtlasRegion = SkinAtlasManager.addImage(nativeImage);
+      log.debug("{} Added image {} to skin atlas {} for {}.", LOG_PREFIX, nativeImage,
+          skinAtlasRegion.getResourceLocation(), textureModelKey);
+      sharedTexture = new SharedTexture(pixelHash, skinAtlasRegion.getResourceLocation(),
+          nativeImage.getWidth(), nativeImage.getHeight(), null, skinAtlasRegion);
+      sharedTextures.put(pixelHash, sharedTexture);
+      nativeImage.close();
+    } else {
+      // Using client Texture Manager
+      Minecraft client = Minecraft.getInstance();
+      net.minecraft.client.renderer.texture.TextureManager textureManager =
+          client.getTextureManager();
+
+      // Creative dynamic texture from native image.
+      int width = nativeImage.getWidth();
+      int height = nativeImage.getHeight();
+      DynamicTexture dynamicTexture = new DynamicTexture(nativeImage);
+
+      // Register dynamic texture under a stable resource location for the pixel content.
+      ResourceLocation resourceLocation = new ResourceLocation(Constants.MOD_ID,
+          getResourceName(pixelHash, textureModelKey.getSubType()));
+      textureManager.register(resourceLocation, dynamicTexture);
+      log.debug("{} Registered image {} as texture {} with {}.", LOG_PREFIX, nativeImage,
+          dynamicTexture, resourceLocation);
+      sharedTexture =
+          new SharedTexture(pixelHash, resourceLocation, width, height, dynamicTexture, null);
+      sharedTextures.put(pixelHash, sharedTexture);
+    }
 
-    // Register dynamic texture under resource location.
-    String resourceName = getResourceName(textureModelKey);
-    ResourceLocation resourceLocation = textureManager.register(resourceName, dynamicTexture);
-    log.debug("{} Registered image {} as texture {} with {}.", LOG_PREFIX, nativeImage,
-        dynamicTexture, resourceLocation);
+    sharedTexture.textureModelKeys.add(textureModelKey);
+    registeredTextures.put(textureModelKey, sharedTexture);
+    return sharedTexture.resourceLocation;
+  }
 
-    return resourceLocation;
+  /**
+   * Removes the texture key from its registered texture and releases the texture, if this was the
+   * last key using it. Needs to be called on the render thread.
+   */
+  public static boolean releaseTexture(TextureModelKey textureModelKey) {
+    SharedTexture sharedTexture = registeredTextures.remove(textureModelKey);
+    if (sharedTexture == null) {
+      return false;
+    }
+    sharedTexture.textureModelKeys.remove(textureModelKey);
+    if (sharedTexture.textureModelKeys.isEmpty()) {
+      log.debug("{} Releasing unused texture {}.", LOG_PREFIX, sharedTexture.resourceLocation);
+      sharedTextures.remove(sharedTexture.hash);
+      if (sharedTexture.skinAtlasRegion != null) {
+        SkinAtlasManager.releaseRegion(sharedTexture.skinAtlasRegion);
+      } else {
+        unregisterTexture(sharedTexture.resourceLocation, sharedTexture.dynamicTexture);
+      }
+    }
+    return true;
   }
 
-  public static ResourceLocation addRemoteTexture(TextureModelKey textureModelKey, String remoteUrl,
-      String targetDirectory) {
+  /**
+   * Removes the dynamic texture from the client texture manager and closes it, which frees the
+   * native image and the texture id. Needs to be called on the render thread.
+   */
+  static void unregisterTexture(ResourceLocation resourceLocation, DynamicTexture dynamicTexture) {
+    Minecraft.getInstance().getTextureManager().byPath.remove(resourceLocation, dynamicTexture);
+    dynamicTexture.close();
+  }
+
+  /** Returns the skin atlas region of the texture key, if the texture is part of an atlas. */
+  public static SkinAtlasRegion getSkinAtlasRegion(TextureModelKey textureModelKey) {
+    SharedTexture sharedTexture = registeredTextures.get(textureModelKey);
+    return sharedTexture != null ? sharedTexture.skinAtlasRegion : null;
+  }
+
+  public static int getNumberOfTextures() {
+    return sharedTextures.size();
+  }
+
+  public static int getNumberOfTextureReferences() {
+    return registeredTextures.size();
+  }
+
+  /** Returns the estimated memory of all registered textures, based on 4 bytes per pixel. */
+  public static long getTextureMemorySize() {
+    long memorySize = 0;
+    for (SharedTexture sharedTexture : sharedTextures.values()) {
+      memorySize += sharedTexture.getMemorySize();
+    }
+    return memorySize;
+  }
+
+  public static String getPixelHash(NativeImage nativeImage) {
+    MessageDigest messageDigest;
+    try {
+      messageDigest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException("SHA-256 is not supported!", exception);
+    }
+    int width = nativeImage.getWidth();
+    int height = nativeImage.getHeight();
+    ByteBuffer rowBuffer = ByteBuffer.allocate(width * 4);
+    for (int y = 0; y < height; y++) {
+      rowBuffer.clear();
+      for (int x = 0; x < width; x++) {
+        rowBuffer.putInt(nativeImage.getPixelRGBA(x, y));
+      }
+      rowBuffer.flip();
+      messageDigest.update(rowBuffer);
+    }
+    messageDigest.update(ByteBuffer.allocate(8).putInt(width).putInt(height).flip());
+    return HexFormat.of().formatHex(messageDigest.digest());
+  }
+
+  /** Downloads, stores and decodes the remote texture, which could block for some time. */
+  public static NativeImage getRemoteNativeImage(TextureModelKey textureModelKey,
+      String remoteUrl, String targetDirectory) {
     if (!PlayersUtils.isValidUrl(remoteUrl)) {
       log.error("{} Texture URL {} is invalid!", LOG_PREFIX, remoteUrl);
       return null;
     }
 
     // Check for cached textured.
-    ResourceLocation cachedTexture = getCachedTexture(textureModelKey, targetDirectory);
-    if (cachedTexture != null) {
+    NativeImage cachedNativeImage = getCachedNativeImage(textureModelKey, targetDirectory);
+    if (cachedNativeImage != null) {
       log.debug("{} Found downloaded file in cache, will re-used {} for {}", LOG_PREFIX,
-          cachedTexture, remoteUrl);
-      return cachedTexture;
+          cachedNativeImage, remoteUrl);
+      return cachedNativeImage;
     }
 
-    // Download URL to memory
-    BufferedImage image;
+    // Download texture into a direct buffer, which is used for storing and decoding.
+    ByteBuffer textureData = null;
     try {
-      image = ImageIO.read(new URL(remoteUrl));
+      textureData = getRemoteData(remoteUrl);
+      if (!isValidTextureData(textureData, remoteUrl)) {
+        return null;
+      }
+
+      NativeImage nativeImage = getNativeImage(textureModelKey, textureData);
+      if (nativeImage == null) {
+        return null;
+      }
+
+      // Storing converted legacy image or original file to cache, without encoding it again.
+      File file = new File(targetDirectory, getFileName(textureModelKey.getUUID()));
+      if (isLegacyImage(textureModelKey, nativeImage)) {
+        nativeImage = getNativeImageFromLegacyImage(nativeImage);
+        writeConvertedImage(file, nativeImage, remoteUrl, textureModelKey.getSkinModel());
+      } else {
+        try {
+          writeFile(file, textureData);
+          TextureCacheManifest.addFile(file, textureData, remoteUrl,
+              textureModelKey.getSkinModel());
+        } catch (IOException exception) {
+          log.error("{} Unable to store texture from {} to {} because of:", LOG_PREFIX, remoteUrl,
+              file, exception);
+        }
+      }
+      return nativeImage;
     } catch (IllegalArgumentException | IOException exception) {
       log.error("{} Unable to load texture from {} because of:", LOG_PREFIX, remoteUrl, exception);
       return null;
+    } finally {
+      if (textureData != null) {
+        MemoryUtil.memFree(textureData);
+      }
     }
+  }
+
+  /** Reads the remote data into a direct buffer, which needs to be freed by the caller. */
+  static ByteBuffer getRemoteData(String remoteUrl) throws IOException {
+    URLConnection connection = new URL(remoteUrl).openConnection();
+    connection.setConnectTimeout(CONNECT_TIMEOUT);
+    connection.setReadTimeout(READ_TIMEOUT);
+    int contentLength = connection.getContentLength();
+    if (contentLength > MAX_TEXTURE_FILE_SIZE) {
+      throw new IOException("Texture file is too large with " + contentLength + " bytes!");
+    }
+
+    // Using one additional byte for a known length, to detect the end without growing the buffer.
+    ByteBuffer buffer =
+        MemoryUtil.memAlloc(contentLength > 0 ? contentLength + 1 : DEFAULT_BUFFER_SIZE);
+    try (ReadableByteChannel channel = Channels.newChannel(connection.getInputStream())) {
+      while (channel.read(buffer) != -1) {
+        if (!buffer.hasRemaining()) {
+          if (buffer.capacity() >= MAX_TEXTURE_FILE_SIZE) {
+            throw new IOException("Texture file is larger than " + MAX_TEXTURE_FILE_SIZE
+                + " bytes!");
+          }
+          buffer =
+              MemoryUtil.memRealloc(buffer, Math.min(buffer.capacity() * 2, MAX_TEXTURE_FILE_SIZE));
+        }
+      }
+    } catch (IOException exception) {
+      MemoryUtil.memFree(buffer);
+      throw exception;
+    }
+    buffer.flip();
+    return buffer;
+  }
 
-    // Verify the image data to make sure we got a valid image!
-    if (image == null) {
+  /** Verifies the PNG signature and the image dimensions from the IHDR chunk before decoding. */
+  static boolean isValidTextureData(ByteBuffer textureData, String remoteUrl) {
+    if (textureData.remaining() < PNG_HEADER_SIZE) {
       log.error("{} Unable to get any valid texture from {}!", LOG_PREFIX, remoteUrl);
-      return null;
-    } else if (image.getWidth() < 32 || image.getHeight() < 32 || image.getWidth() % 32 != 0
-        || image.getHeight() % 32 != 0) {
+      return false;
+    }
+    ByteBuffer header = textureData.duplicate().order(ByteOrder.BIG_ENDIAN);
+    for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+      if (header.get(i) != PNG_SIGNATURE[i]) {
+        log.error("{} Texture from {} is not a valid PNG image!", LOG_PREFIX, remoteUrl);
+        return false;
+      }
+    }
+    int width = header.getInt(16);
+    int height = header.getInt(20);
+    if (width < 32 || height < 32 || width % 32 != 0 || height % 32 != 0
+        || width > MAX_TEXTURE_SIZE || height > MAX_TEXTURE_SIZE) {
       log.error("{} Unable to get any valid texture from {}, got {}x{}!", LOG_PREFIX, remoteUrl,
-          image.getWidth(), image.getHeight());
-      return null;
+          width, height);
+      return false;
     }
+    return true;
+  }
 
-    // Storing file to cache.
-    UUID uuid = textureModelKey.getUUID();
-    File file = new File(targetDirectory, getFileName(uuid));
+  static void writeFile(File file, ByteBuffer data) throws IOException {
+    // Write to a temporary file first to avoid partial files in the cache.
+    Path tempFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
     try {
-      ImageIO.write(image, "png", file);
-    } catch (IllegalArgumentException | IOException exception) {
-      log.error("{} Unable to store texture from {} to {} because of:", LOG_PREFIX, remoteUrl, file,
-          exception);
-      return null;
+      try (FileChannel fileChannel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = data.duplicate();
+        while (buffer.hasRemaining()) {
+          fileChannel.write(buffer);
+        }
+      }
+      Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tempFile);
     }
-
-    // Adding file to texture manager.
-    return registerTexture(textureModelKey, file);
   }
 
   public static String getResourceName(TextureModelKey textureModelKey) {
@@ -154,14 +377,29 @@ public class TextureManager {
     return name.replaceAll("[^a-z0-9_.-]", "") + ".png";
   }
 
-  public static ResourceLocation getCachedTexture(TextureModelKey textureModelKey,
+  public static NativeImage getCachedNativeImage(TextureModelKey textureModelKey,
       String targetDirectory) {
-    String fileName = String.format("%s.png", textureModelKey.getUUID());
-    File file = new File(targetDirectory, fileName);
-    if (file.exists()) {
+    File cachedFile = getCachedFile(textureModelKey, targetDirectory);
+    if (cachedFile == null) {
+      return null;
+    }
+    NativeImage nativeImage = getNativeImage(cachedFile);
+    if (nativeImage != null && isLegacyImage(textureModelKey, nativeImage)) {
+      // Older cache files could contain legacy images, which are converted only once.
+      nativeImage = getNativeImageFromLegacyImage(nativeImage);
+      writeConvertedImage(new File(targetDirectory, getFileName(textureModelKey.getUUID())),
+          nativeImage, null, textureModelKey.getSkinModel());
+    }
+    return nativeImage;
+  }
+
+  private static File getCachedFile(TextureModelKey textureModelKey, String targetDirectory) {
+    File file = TextureCacheManifest
+        .getFile(new File(targetDirectory, getFileName(textureModelKey.getUUID())));
+    if (file != null) {
       log.debug("{} Found downloaded file in cache, will re-used file {} for {}", LOG_PREFIX, file,
           textureModelKey);
-      return registerTexture(textureModelKey, file);
+      return file;
     }
     return null;
   }
@@ -179,12 +417,22 @@ public class TextureManager {
     return textureCachePath;
   }
 
-  public static NativeImage getNativeImage(File file) {
-    return getNativeImage(file, false);
+  /**
+   * Decodes the texture data, which needs to be a direct buffer, into a native image. Legacy images
+   * are not converted, so that the converted image could be stored by the caller.
+   */
+  public static NativeImage getNativeImage(TextureModelKey textureModelKey, ByteBuffer data) {
+    try {
+      return NativeImage.read(data);
+    } catch (IOException exception) {
+      log.error("{} Unable to decode native image for {} because of:", LOG_PREFIX,
+          textureModelKey, exception);
+      return null;
+    }
   }
 
-  public static NativeImage getNativePlayerImage(File file) {
-    return getNativeImage(file, true);
+  public static NativeImage getNativeImage(File file) {
+    return getNativeImage(file, false);
   }
 
   public static NativeImage getNativeImage(File file, boolean legacySupport) {
@@ -199,11 +447,51 @@ public class TextureManager {
       return null;
     }
 
-    if (legacySupport && nativeImage.getWidth() == 64 && nativeImage.getHeight() == 32) {
-      log.info("{} Processing legacy image {} from 64x32 to 64x64 ...", LOG_PREFIX, nativeImage);
-      nativeImage = getNativeImageFromLegacyImage(nativeImage);
+    return legacySupport ? getNativeImageFromLegacyImageIfNeeded(nativeImage) : nativeImage;
+  }
+
+  private static boolean hasLegacySupport(TextureModelKey textureModelKey) {
+    return textureModelKey.getSkinModel() == SkinModel.HUMANOID
+        || textureModelKey.getSkinModel() == SkinModel.HUMANOID_SLIM;
+  }
+
+  private static boolean isLegacyImage(TextureModelKey textureModelKey, NativeImage nativeImage) {
+    return hasLegacySupport(textureModelKey) && nativeImage.getWidth() == 64
+        && nativeImage.getHeight() == 32;
+  }
+
+  /**
+   * Stores the converted legacy image in the texture cache, so that further loads could use the
+   * image without any conversion. A null source keeps the known source of the cached file.
+   */
+  private static void writeConvertedImage(File file, NativeImage nativeImage, String source,
+      SkinModel skinModel) {
+    log.debug("{} Storing converted legacy image {} to {} ...", LOG_PREFIX, nativeImage, file);
+    try {
+      Path tempFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+      try {
+        nativeImage.writeToFile(tempFile);
+        Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException exception) {
+      log.error("{} Unable to store converted legacy image to {} because of:", LOG_PREFIX, file,
+          exception);
+      return;
+    }
+    if (source != null) {
+      TextureCacheManifest.addFile(file, source, skinModel);
+    } else {
+      TextureCacheManifest.updateFile(file, skinModel);
     }
+  }
 
+  private static NativeImage getNativeImageFromLegacyImageIfNeeded(NativeImage nativeImage) {
+    if (nativeImage.getWidth() == 64 && nativeImage.getHeight() == 32) {
+      log.info("{} Processing legacy image {} from 64x32 to 64x64 ...", LOG_PREFIX, nativeImage);
+      return getNativeImageFromLegacyImage(nativeImage);
+    }
     return nativeImage;
   }
 
@@ -227,4 +515,29 @@ public class TextureManager {
     return nativeImage;
   }
 
+  private static class SharedTexture {
+
+    private final String hash;
+    private final ResourceLocation resourceLocation;
+    private final int width;
+    private final int height;
+    private final DynamicTexture dynamicTexture;
+    private final SkinAtlasRegion skinAtlasRegion;
+    private final Set<TextureModelKey> textureModelKeys = new HashSet<>();
+
+    SharedTexture(String hash, ResourceLocation resourceLocation, int width, int height,
+        DynamicTexture dynamicTexture, SkinAtlasRegion skinAtlasRegion) {
+      this.hash = hash;
+      this.resourceLocation = resourceLocation;
+      this.width = width;
+      this.height = height;
+      this.dynamicTexture = dynamicTexture;
+      this.skinAtlasRegion = skinAtlasRegion;
+    }
+
+    long getMemorySize() {
+      return width * height * 4L;
+    }
+  }
+
 }
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.commands;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+
+import net.minecraft.commands.CommandSourceStack;
+
+/**
+ * Parse results of a single action template. Within the same template, the bound command only
+ * differs by the placeholder values, so the last few bindings are kept to cover alternating
+ * initiators or positions.
+ */
+public class CachedCommand {
+
+  private static final int MAX_CACHED_PARSE_RESULTS = 16;
+
+  private final Map<String, ParseResults<CommandSourceStack>> parseResultsMap =
+      new LinkedHashMap<>(MAX_CACHED_PARSE_RESULTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+            Map.Entry<String, ParseResults<CommandSourceStack>> eldest) {
+          return size() > MAX_CACHED_PARSE_RESULTS;
+        }
+      };
+  private CommandDispatcher<CommandSourceStack> dispatcher;
+  private String template;
+  private int permissionLevel;
+  private boolean debug;
+
+  public ParseResults<CommandSourceStack> getParseResults(
+      CommandDispatcher<CommandSourceStack> dispatcher, String template, String command,
+      int permissionLevel, boolean debug) {
+    if (this.dispatcher != dispatcher || this.permissionLevel != permissionLevel
+        || this.debug != debug || !template.equals(this.template)) {
+      this.parseResultsMap.clear();
+      this.dispatcher = dispatcher;
+      this.template = template;
+      this.permissionLevel = permissionLevel;
+      this.debug = debug;
+      return null;
+    }
+    return this.parseResultsMap.get(command);
+  }
+
+  public void putParseResults(String command, ParseResults<CommandSourceStack> parseResults) {
+    this.parseResultsMap.put(command, parseResults);
+  }
+
+  @Override
+  public String toString() {
+    return "CachedCommand [template=" + this.template + ", permissionLevel="
+        + this.permissionLevel + ", debug=" + this.debug + ", cached="
+        + this.parseResultsMap.size() + "]";
+  }
+
+}
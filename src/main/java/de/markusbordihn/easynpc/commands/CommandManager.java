@@ -23,12 +23,20 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
 
+import net.minecraft.commands.CommandRuntimeException;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.ComponentUtils;
+import net.minecraft.network.chat.TextComponent;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.entity.Entity;
 
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.CommandEvent;
 import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
@@ -49,24 +57,67 @@ public class CommandManager {
     CommandDispatcher<CommandSourceStack> commandDispatcher = event.getDispatcher();
     commandDispatcher.register(Commands.literal(Constants.MOD_COMMAND)
     // @formatter:off
-
+      .then(ProfileCommand.register())
     // @formatter:on
     );
   }
 
-  public static void executeEntityCommand(String command, Entity entity, int permissionLevel,
-      boolean debug) {
+  public static void executeEntityCommand(String template, String command, Entity entity,
+      int permissionLevel, boolean debug, CachedCommand cachedCommand) {
     MinecraftServer minecraftServer = ServerLifecycleHooks.getCurrentServer();
     if (minecraftServer == null) {
       return;
     }
+
+    // Re-use the former parse results, if template, bound values, source and dispatcher match.
+    CommandDispatcher<CommandSourceStack> dispatcher =
+        minecraftServer.getCommands().getDispatcher();
+    ParseResults<CommandSourceStack> parseResults =
+        cachedCommand.getParseResults(dispatcher, template, command, permissionLevel, debug);
+    if (parseResults == null) {
+      log.debug("Parse Entity {} Command: \"{}\" with permission level {}", entity, command,
+          permissionLevel);
+      CommandSourceStack commandSourceStack = minecraftServer.createCommandSourceStack()
+          .withEntity(entity).withPermission(permissionLevel);
+      StringReader stringReader = new StringReader(command);
+      if (stringReader.canRead() && stringReader.peek() == '/') {
+        stringReader.skip();
+      }
+      parseResults = dispatcher.parse(stringReader,
+          debug ? commandSourceStack : commandSourceStack.withSuppressedOutput());
+      cachedCommand.putParseResults(command, parseResults);
+    }
     log.debug("Execute Entity {} Command: \"{}\" with permission level {}", entity, command,
         permissionLevel);
-    Commands commands = minecraftServer.getCommands();
-    CommandSourceStack commandSourceStack = minecraftServer.createCommandSourceStack()
-        .withEntity(entity).withPermission(permissionLevel);
-    commands.performCommand(debug ? commandSourceStack : commandSourceStack.withSuppressedOutput(),
-        command);
+    executeCommand(dispatcher, parseResults, command);
+  }
+
+  private static int executeCommand(CommandDispatcher<CommandSourceStack> dispatcher,
+      ParseResults<CommandSourceStack> parseResults, String command) {
+    CommandSourceStack commandSourceStack = parseResults.getContext().getSource();
+    commandSourceStack.getServer().getProfiler().push(command);
+    try {
+      CommandEvent commandEvent = new CommandEvent(parseResults);
+      if (MinecraftForge.EVENT_BUS.post(commandEvent)) {
+        if (commandEvent.getException() != null) {
+          log.error("Command \"{}\" was canceled:", command, commandEvent.getException());
+        }
+        return 1;
+      }
+      return dispatcher.execute(commandEvent.getParseResults());
+    } catch (CommandRuntimeException exception) {
+      commandSourceStack.sendFailure(exception.getComponent());
+    } catch (CommandSyntaxException exception) {
+      commandSourceStack.sendFailure(ComponentUtils.fromMessage(exception.getRawMessage()));
+    } catch (Exception exception) {
+      log.error("Unable to execute command \"{}\":", command, exception);
+      String message = exception.getMessage();
+      commandSourceStack.sendFailure(
+          new TextComponent(message != null ? message : exception.getClass().getName()));
+    } finally {
+      commandSourceStack.getServer().getProfiler().pop();
+    }
+    return 0;
   }
 
   public static void executeServerCommand(String command) {
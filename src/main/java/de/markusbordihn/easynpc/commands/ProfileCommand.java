@@ -0,0 +1,120 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.commands;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+
+import de.markusbordihn.easynpc.action.ActionProfiler;
+import de.markusbordihn.easynpc.action.ActionProfiler.ActionProfile;
+import de.markusbordihn.easynpc.action.ActionRateLimiter;
+import de.markusbordihn.easynpc.action.ActionScheduler;
+import de.markusbordihn.easynpc.entity.EntityTickScheduler;
+import de.markusbordihn.easynpc.entity.EntityTickScheduler.TickTier;
+
+public class ProfileCommand extends CustomCommand {
+
+  private static final ProfileCommand command = new ProfileCommand();
+  private static final int DEFAULT_TOP_LIMIT = 10;
+
+  public static ArgumentBuilder<CommandSourceStack, ?> register() {
+    return Commands.literal("profile").requires(cs -> cs.hasPermission(2)).executes(command)
+        .then(Commands.literal("start").executes(ProfileCommand::start))
+        .then(Commands.literal("stop").executes(ProfileCommand::stop))
+        .then(Commands.literal("top").executes(context -> top(context, DEFAULT_TOP_LIMIT))
+            .then(Commands.argument("limit", IntegerArgumentType.integer(1, 100)).executes(
+                context -> top(context, IntegerArgumentType.getInteger(context, "limit")))))
+        .then(Commands.literal("dump").executes(ProfileCommand::dump));
+  }
+
+  @Override
+  public int run(CommandContext<CommandSourceStack> context) {
+    sendFeedback(context, String.format("Action profiler is %s (sampled %d ms).",
+        ActionProfiler.isEnabled() ? "running" : "stopped", ActionProfiler.getSampleTime()));
+    sendFeedback(context,
+        String.format("Action queue: %d (max %d), executed %d, wait avg. %.2f ms, max. %.2f ms",
+            ActionScheduler.getQueueDepth(), ActionScheduler.getMaxQueueDepth(),
+            ActionScheduler.getExecutedActions(), ActionScheduler.getAverageWaitTimeMillis(),
+            ActionScheduler.getMaxWaitTimeMillis()));
+    sendFeedback(context,
+        String.format("Rejected actions: %d queue, %d player rate limit, %d NPC rate limit",
+            ActionScheduler.getRejectedActions(), ActionRateLimiter.getRejectedPlayerActions(),
+            ActionRateLimiter.getRejectedEntityActions()));
+    for (TickTier tickTier : TickTier.values()) {
+      sendFeedback(context,
+          String.format("AI ticks %s: %d executed, %d skipped", tickTier,
+              EntityTickScheduler.getExecutedTicks(tickTier),
+              EntityTickScheduler.getSkippedTicks(tickTier)));
+    }
+    return 0;
+  }
+
+  public static int start(CommandContext<CommandSourceStack> context) {
+    ActionProfiler.start();
+    ActionScheduler.resetMetrics();
+    EntityTickScheduler.resetCounters();
+    ActionRateLimiter.resetCounters();
+    sendFeedback(context, "Started action profiler.");
+    return 0;
+  }
+
+  public static int stop(CommandContext<CommandSourceStack> context) {
+    ActionProfiler.stop();
+    sendFeedback(context,
+        String.format("Stopped action profiler after %d ms.", ActionProfiler.getSampleTime()));
+    return 0;
+  }
+
+  public static int top(CommandContext<CommandSourceStack> context, int limit) {
+    List<ActionProfile> profiles = ActionProfiler.getTopProfiles(limit);
+    if (profiles.isEmpty()) {
+      sendFeedback(context, "No action profiles recorded, use 'profile start' to start sampling.");
+      return 0;
+    }
+    sendFeedback(context, String.format("Top %d slowest NPC actions (by max. time):", limit));
+    for (ActionProfile profile : profiles) {
+      sendFeedback(context,
+          String.format("%s (%s) %s: %d x, avg. %.3f ms, max. %.3f ms, total %.3f ms",
+              profile.getName(), profile.getUUID(), profile.getActionType(), profile.getCount(),
+              profile.getAverageTime() / 1_000_000.0, profile.getMaxTime() / 1_000_000.0,
+              profile.getTotalTime() / 1_000_000.0));
+    }
+    return 0;
+  }
+
+  public static int dump(CommandContext<CommandSourceStack> context) {
+    try {
+      Path file = ActionProfiler.dump();
+      sendFeedback(context, "Dumped action profiles to " + file);
+    } catch (IOException exception) {
+      log.error("Unable to dump action profiles:", exception);
+      sendFeedback(context, "Unable to dump action profiles: " + exception.getMessage());
+    }
+    return 0;
+  }
+
+}
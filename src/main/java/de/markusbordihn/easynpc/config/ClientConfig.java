@@ -1,5 +1,124 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
 package de.markusbordihn.easynpc.config;
 
-public class ClientConfig {
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.ModLoadingContext;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
+
+import de.markusbordihn.easynpc.Constants;
+
+@EventBusSubscriber(value = Dist.CLIENT, bus = EventBusSubscriber.Bus.MOD)
+public final class ClientConfig {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private ClientConfig() {}
+
+  public static final ForgeConfigSpec clientSpec;
+  public static final Config CLIENT;
+
+  static {
+    com.electronwill.nightconfig.core.Config.setInsertionOrderPreserved(true);
+    final Pair<Config, ForgeConfigSpec> specPair =
+        new ForgeConfigSpec.Builder().configure(Config::new);
+    clientSpec = specPair.getRight();
+    CLIENT = specPair.getLeft();
+    log.info("{} Client config ...", Constants.LOG_REGISTER_PREFIX);
+    ModLoadingContext.get().registerConfig(ModConfig.Type.CLIENT, clientSpec);
+  }
+
+  public static class Config {
+
+    public final ForgeConfigSpec.ConfigValue<String> playerProfileSessionServer;
+    public final ForgeConfigSpec.IntValue playerProfileCacheSize;
+    public final ForgeConfigSpec.IntValue playerProfileCacheTTL;
+
+    public final ForgeConfigSpec.IntValue textureCacheMaxSize;
+
+    public final ForgeConfigSpec.IntValue textureLoadingThreads;
+
+    public final ForgeConfigSpec.IntValue textureReleaseGracePeriod;
+    public final ForgeConfigSpec.IntValue textureMemoryBudget;
+
+    public final ForgeConfigSpec.BooleanValue skinAtlasEnabled;
+
+    Config(ForgeConfigSpec.Builder builder) {
+      builder.comment(Constants.MOD_NAME);
+
+      builder.push("Player Profiles");
+      playerProfileSessionServer = builder.comment(
+          "Session server URL for resolving player skins, the player UUID is appended to the URL.")
+          .define("playerProfileSessionServer",
+              "https://sessionserver.mojang.com/session/minecraft/profile/");
+      playerProfileCacheSize =
+          builder.comment("Max. number of resolved player profiles which are kept in memory.")
+              .defineInRange("playerProfileCacheSize", 256, 16, 4096);
+      playerProfileCacheTTL = builder
+          .comment("Time in minutes before a resolved player profile is requested again.")
+          .defineInRange("playerProfileCacheTTL", 1440, 1, 43200);
+      builder.pop();
+
+      builder.push("Texture Cache");
+      textureCacheMaxSize = builder.comment(
+          "Max. size in MB of the texture cache on disk, least recently used files are removed.")
+          .defineInRange("textureCacheMaxSize", 256, 1, 8192);
+      builder.pop();
+
+      builder.push("Texture Loading");
+      textureLoadingThreads = builder.comment(
+          "Number of worker threads for downloading and decoding skin textures in the background.")
+          .defineInRange("textureLoadingThreads", 2, 1, 8);
+      builder.pop();
+
+      builder.push("Texture Memory");
+      textureReleaseGracePeriod = builder.comment(
+          "Time in seconds before a skin texture which is no longer used by any NPC is released.")
+          .defineInRange("textureReleaseGracePeriod", 60, 0, 3600);
+      textureMemoryBudget = builder.comment(
+          "Max. size in MB of loaded skin textures, unused textures are released earlier above it.")
+          .defineInRange("textureMemoryBudget", 64, 1, 4096);
+      builder.pop();
+
+      builder.push("Skin Atlas");
+      skinAtlasEnabled = builder.comment(
+          "Experimental: Packs 64x64 player and url skins into shared textures to reduce texture "
+              + "switches, changes apply to newly loaded skins.")
+          .define("skinAtlasEnabled", false);
+      builder.pop();
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleModConfigLoadEvent(ModConfigEvent.Loading event) {
+    if (event.getConfig().getSpec() == clientSpec) {
+      log.info("{} Loaded client config {}", Constants.LOG_ICON_NAME,
+          event.getConfig().getFileName());
+    }
+  }
 
 }
@@ -1,5 +1,134 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
 package de.markusbordihn.easynpc.config;
 
-public class CommonConfig {
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.ModLoadingContext;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
+
+import de.markusbordihn.easynpc.Constants;
+
+@EventBusSubscriber(bus = EventBusSubscriber.Bus.MOD)
+public final class CommonConfig {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private CommonConfig() {}
+
+  public static final ForgeConfigSpec commonSpec;
+  public static final Config COMMON;
+
+  static {
+    com.electronwill.nightconfig.core.Config.setInsertionOrderPreserved(true);
+    final Pair<Config, ForgeConfigSpec> specPair =
+        new ForgeConfigSpec.Builder().configure(Config::new);
+    commonSpec = specPair.getRight();
+    COMMON = specPair.getLeft();
+    log.info("{} Common config ...", Constants.LOG_REGISTER_PREFIX);
+    ModLoadingContext.get().registerConfig(ModConfig.Type.COMMON, commonSpec);
+  }
+
+  public static class Config {
+
+    public final ForgeConfigSpec.BooleanValue tickSchedulerEnabled;
+    public final ForgeConfigSpec.IntValue tickSchedulerNearDistance;
+    public final ForgeConfigSpec.IntValue tickSchedulerFarDistance;
+    public final ForgeConfigSpec.IntValue tickSchedulerMidTickInterval;
+    public final ForgeConfigSpec.IntValue tickSchedulerUpdateInterval;
+
+    public final ForgeConfigSpec.BooleanValue actionSchedulerEnabled;
+    public final ForgeConfigSpec.IntValue actionSchedulerTickBudget;
+    public final ForgeConfigSpec.IntValue actionSchedulerMaxQueueSize;
+
+    public final ForgeConfigSpec.BooleanValue rateLimiterEnabled;
+    public final ForgeConfigSpec.IntValue rateLimiterPlayerActionsPerSecond;
+    public final ForgeConfigSpec.IntValue rateLimiterPlayerBurst;
+    public final ForgeConfigSpec.IntValue rateLimiterEntityActionsPerSecond;
+    public final ForgeConfigSpec.IntValue rateLimiterEntityBurst;
+
+    Config(ForgeConfigSpec.Builder builder) {
+      builder.comment(Constants.MOD_NAME);
+
+      builder.push("Tick Scheduler");
+      tickSchedulerEnabled =
+          builder.comment("Enable / Disable the distance based AI tick scheduler for NPCs.")
+              .define("tickSchedulerEnabled", true);
+      tickSchedulerNearDistance = builder.comment(
+          "NPCs with a player within this distance (in blocks) will run their AI every tick.")
+          .defineInRange("tickSchedulerNearDistance", 32, 1, 512);
+      tickSchedulerFarDistance = builder.comment(
+          "NPCs without a player within this distance (in blocks) will skip their AI entirely.")
+          .defineInRange("tickSchedulerFarDistance", 96, 1, 1024);
+      tickSchedulerMidTickInterval = builder.comment(
+          "NPCs between the near and far distance will only re-evaluate goals every n-th tick.")
+          .defineInRange("tickSchedulerMidTickInterval", 5, 1, 100);
+      tickSchedulerUpdateInterval =
+          builder.comment("Interval in ticks for re-calculating the tick tier of an NPC.")
+              .defineInRange("tickSchedulerUpdateInterval", 20, 1, 200);
+      builder.pop();
+
+      builder.push("Action Scheduler");
+      actionSchedulerEnabled = builder.comment(
+          "Enable / Disable the queued execution of NPC actions within a time budget per tick.")
+          .define("actionSchedulerEnabled", true);
+      actionSchedulerTickBudget = builder.comment(
+          "Time budget (in milliseconds) per server tick for executing queued NPC actions.")
+          .defineInRange("actionSchedulerTickBudget", 5, 1, 50);
+      actionSchedulerMaxQueueSize = builder.comment(
+          "Max. number of queued NPC actions, additional actions are rejected.")
+          .defineInRange("actionSchedulerMaxQueueSize", 1000, 1, 100000);
+      builder.pop();
+
+      builder.push("Rate Limiter");
+      rateLimiterEnabled =
+          builder.comment("Enable / Disable the rate limiting of NPC actions per player and NPC.")
+              .define("rateLimiterEnabled", true);
+      rateLimiterPlayerActionsPerSecond =
+          builder.comment("Number of NPC actions a single player could trigger per second.")
+              .defineInRange("rateLimiterPlayerActionsPerSecond", 4, 1, 1000);
+      rateLimiterPlayerBurst =
+          builder.comment("Number of NPC actions a single player could trigger in a burst.")
+              .defineInRange("rateLimiterPlayerBurst", 8, 1, 1000);
+      rateLimiterEntityActionsPerSecond =
+          builder.comment("Number of actions a single NPC could execute per second.")
+              .defineInRange("rateLimiterEntityActionsPerSecond", 20, 1, 1000);
+      rateLimiterEntityBurst =
+          builder.comment("Number of actions a single NPC could execute in a burst.")
+              .defineInRange("rateLimiterEntityBurst", 40, 1, 1000);
+      builder.pop();
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleModConfigLoadEvent(ModConfigEvent.Loading event) {
+    if (event.getConfig().getSpec() == commonSpec) {
+      log.info("{} Loaded common config {}", Constants.LOG_ICON_NAME,
+          event.getConfig().getFileName());
+    }
+  }
 
 }
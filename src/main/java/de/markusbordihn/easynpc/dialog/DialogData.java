@@ -0,0 +1,127 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.dialog;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+public class DialogData {
+
+  public static final String DEFAULT_YES_DIALOG_BUTTON = "Yes";
+  public static final String DEFAULT_NO_DIALOG_BUTTON = "No";
+
+  private final String dialog;
+  private final String yesDialog;
+  private final String noDialog;
+  private final String yesDialogButton;
+  private final String noDialogButton;
+  private final String hash;
+
+  public DialogData(String dialog, String yesDialog, String noDialog, String yesDialogButton,
+      String noDialogButton) {
+    this.dialog = dialog != null ? dialog : "";
+    this.yesDialog = yesDialog != null ? yesDialog : "";
+    this.noDialog = noDialog != null ? noDialog : "";
+    this.yesDialogButton = yesDialogButton != null ? yesDialogButton : DEFAULT_YES_DIALOG_BUTTON;
+    this.noDialogButton = noDialogButton != null ? noDialogButton : DEFAULT_NO_DIALOG_BUTTON;
+    this.hash = getContentHash(this.dialog, this.yesDialog, this.noDialog, this.yesDialogButton,
+        this.noDialogButton);
+  }
+
+  private static String getContentHash(String... values) {
+    MessageDigest messageDigest;
+    try {
+      messageDigest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException("SHA-256 is not supported!", exception);
+    }
+    for (String value : values) {
+      // Length prefix, to keep "ab" + "c" and "a" + "bc" apart.
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      messageDigest.update(new byte[] {(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16),
+          (byte) (bytes.length >>> 8), (byte) bytes.length});
+      messageDigest.update(bytes);
+    }
+    return HexFormat.of().formatHex(messageDigest.digest());
+  }
+
+  public static DialogData read(FriendlyByteBuf buffer) {
+    return new DialogData(buffer.readUtf(), buffer.readUtf(), buffer.readUtf(), buffer.readUtf(),
+        buffer.readUtf());
+  }
+
+  public void write(FriendlyByteBuf buffer) {
+    buffer.writeUtf(this.dialog);
+    buffer.writeUtf(this.yesDialog);
+    buffer.writeUtf(this.noDialog);
+    buffer.writeUtf(this.yesDialogButton);
+    buffer.writeUtf(this.noDialogButton);
+  }
+
+  public String getDialog() {
+    return this.dialog;
+  }
+
+  public String getYesDialog() {
+    return this.yesDialog;
+  }
+
+  public String getNoDialog() {
+    return this.noDialog;
+  }
+
+  public String getYesDialogButton() {
+    return this.yesDialogButton;
+  }
+
+  public String getNoDialogButton() {
+    return this.noDialogButton;
+  }
+
+  public String getHash() {
+    return this.hash;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hash.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object == this) {
+      return true;
+    }
+    if (!(object instanceof DialogData)) {
+      return false;
+    }
+
+    DialogData dialogData = (DialogData) object;
+    return this.hash.equals(dialogData.hash) && this.dialog.equals(dialogData.dialog)
+        && this.yesDialog.equals(dialogData.yesDialog) && this.noDialog.equals(dialogData.noDialog)
+        && this.yesDialogButton.equals(dialogData.yesDialogButton)
+        && this.noDialogButton.equals(dialogData.noDialogButton);
+  }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.dialog;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.entity.EasyNPCEntity;
+import de.markusbordihn.easynpc.network.NetworkHandler;
+
+/**
+ * Server side dialog delivery. The dialog content is only sent once per player and content hash,
+ * afterwards only the hash is sent and the client uses its cached dialog data.
+ */
+@EventBusSubscriber
+public class DialogDataManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static Map<UUID, Map<UUID, String>> sentDialogDataMap = new ConcurrentHashMap<>();
+
+  protected DialogDataManager() {}
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedOutEvent(PlayerEvent.PlayerLoggedOutEvent event) {
+    sentDialogDataMap.remove(event.getPlayer().getUUID());
+  }
+
+  @SubscribeEvent
+  public static void handleEntityLeaveWorldEvent(EntityLeaveWorldEvent event) {
+    Entity entity = event.getEntity();
+    if (entity instanceof EasyNPCEntity && !event.getWorld().isClientSide()) {
+      UUID uuid = entity.getUUID();
+      for (Map<UUID, String> sentDialogData : sentDialogDataMap.values()) {
+        sentDialogData.remove(uuid);
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleServerStoppingEvent(ServerStoppingEvent event) {
+    sentDialogDataMap.clear();
+  }
+
+  public static void sendDialogData(ServerPlayer serverPlayer, EasyNPCEntity entity) {
+    if (serverPlayer == null || entity == null) {
+      return;
+    }
+    DialogData dialogData = entity.getDialogData();
+    Map<UUID, String> sentDialogData =
+        sentDialogDataMap.computeIfAbsent(serverPlayer.getUUID(), key -> new ConcurrentHashMap<>());
+    String sentHash = sentDialogData.get(entity.getUUID());
+    if (dialogData.getHash().equals(sentHash)) {
+      NetworkHandler.sendDialogDataHash(serverPlayer, entity.getUUID(), dialogData.getHash());
+      return;
+    }
+    log.debug("Sending dialog data {} for {} to {}", dialogData.getHash(), entity, serverPlayer);
+    NetworkHandler.sendDialogData(serverPlayer, entity.getUUID(), dialogData);
+    sentDialogData.put(entity.getUUID(), dialogData.getHash());
+  }
+
+  public static void resendDialogData(ServerPlayer serverPlayer, EasyNPCEntity entity) {
+    if (serverPlayer == null || entity == null) {
+      return;
+    }
+    Map<UUID, String> sentDialogData = sentDialogDataMap.get(serverPlayer.getUUID());
+    if (sentDialogData != null) {
+      sentDialogData.remove(entity.getUUID());
+    }
+    sendDialogData(serverPlayer, entity);
+  }
+
+}
@@ -22,17 +22,15 @@ package de.markusbordihn.easynpc.dialog;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 
+import de.markusbordihn.easynpc.utils.TextTemplate;
+
 public class DialogUtils {
 
   public static String parseDialog(String text, LivingEntity entity, Player player) {
-    String output = text;
-    if (entity != null) {
-      output = output.replace("@npc", entity.getName().getString());
-    }
-    if (player != null) {
-      output = output.replace("@initiator", player.getName().getString());
+    if (text == null) {
+      return "";
     }
-    return output;
+    return TextTemplate.compile(text).render(entity, player);
   }
 
 }
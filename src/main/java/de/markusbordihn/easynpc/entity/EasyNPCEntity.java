@@ -19,34 +19,48 @@
 
 package de.markusbordihn.easynpc.entity;
 
+import java.util.List;
+
 import javax.annotation.Nullable;
 
+import com.mojang.datafixers.util.Pair;
+
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.protocol.game.ClientboundSetEquipmentPacket;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.DifficultyInstance;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.MobCategory;
 import net.minecraft.world.entity.MobSpawnType;
 import net.minecraft.world.entity.SpawnGroupData;
-import net.minecraft.world.entity.ai.goal.LookAtPlayerGoal;
 import net.minecraft.world.entity.animal.FlyingAnimal;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.ServerLevelAccessor;
 import net.minecraft.world.phys.Vec3;
 
+import de.markusbordihn.easynpc.action.ActionProfiler;
+import de.markusbordihn.easynpc.action.ActionRateLimiter;
+import de.markusbordihn.easynpc.action.ActionScheduler;
 import de.markusbordihn.easynpc.action.ActionType;
 import de.markusbordihn.easynpc.action.ActionUtils;
 import de.markusbordihn.easynpc.commands.CommandManager;
+import de.markusbordihn.easynpc.entity.ai.goal.LookAtEntityGoal;
 
 public class EasyNPCEntity extends EasyNPCEntityData {
 
   // Shared constants
   public static final MobCategory CATEGORY = MobCategory.MISC;
 
+  // Tick Scheduler
+  private EntityTickScheduler.TickTier tickTier = EntityTickScheduler.TickTier.NEAR;
+
   public EasyNPCEntity(EntityType<? extends EasyNPCEntity> entityType, Level level,
       Enum<?> variant) {
     this(entityType, level);
@@ -63,15 +77,99 @@ public class EasyNPCEntity extends EasyNPCEntityData {
   }
 
   public void executeAction(ActionType actionType, ServerPlayer serverPlayer) {
-    if (!this.hasAction(actionType)) {
+    String rawAction = this.getAction(actionType);
+    if (rawAction.isEmpty()) {
+      return;
+    }
+    if (!ActionRateLimiter.tryAcquire(serverPlayer, this)) {
+      log.debug("Rate limited action {} for {} from {}", actionType, this, serverPlayer);
       return;
     }
-    String action = ActionUtils.parseAction(this.getAction(actionType), this, serverPlayer);
+    String action = ActionUtils.parseAction(rawAction, this, serverPlayer);
     boolean debug = this.getActionDebug();
     int permissionLevel = this.getActionPermissionLevel();
     log.debug("Execute action {}:{} for {} with permission level {} ...", actionType, action, this,
         permissionLevel);
-    CommandManager.executeEntityCommand(action, this, permissionLevel, debug);
+    ActionScheduler.schedule(this, () -> {
+      if (this.isRemoved()) {
+        return;
+      }
+      boolean profile = ActionProfiler.isEnabled();
+      long startTime = profile ? System.nanoTime() : 0;
+      CommandManager.executeEntityCommand(rawAction, action, this, permissionLevel, debug,
+          this.getCachedCommand(actionType));
+      if (profile) {
+        ActionProfiler.record(this, actionType, System.nanoTime() - startTime);
+      }
+    });
+  }
+
+  public EntityTickScheduler.TickTier getTickTier() {
+    return this.tickTier;
+  }
+
+  public void setTickTier(EntityTickScheduler.TickTier tickTier) {
+    this.tickTier = tickTier;
+  }
+
+  @Override
+  public void tick() {
+    // Configuration changes are sent as a single update per tick to all tracking players.
+    if (!this.level.isClientSide) {
+      this.syncSpawnData();
+    }
+
+    // Static NPCs skip AI, physics and the ageable mob tick, unless they are being moved.
+    if (this.isStatic() && this.lerpSteps <= 0) {
+      this.staticTick();
+      return;
+    }
+    super.tick();
+  }
+
+  @Override
+  public void setItemSlot(EquipmentSlot equipmentSlot, ItemStack itemStack) {
+    super.setItemSlot(equipmentSlot, itemStack);
+
+    // Static NPCs skip the living entity tick, which would otherwise broadcast the equipment.
+    if (this.isStatic() && this.level instanceof ServerLevel serverLevel) {
+      serverLevel.getChunkSource().broadcast(this, new ClientboundSetEquipmentPacket(this.getId(),
+          List.of(Pair.of(equipmentSlot, itemStack.copy()))));
+    }
+  }
+
+  protected void staticTick() {
+    ++this.tickCount;
+
+    // Keep former positions and rotations in sync to avoid any render interpolation.
+    this.xo = this.getX();
+    this.yo = this.getY();
+    this.zo = this.getZ();
+    this.xOld = this.getX();
+    this.yOld = this.getY();
+    this.zOld = this.getZ();
+    this.xRotO = this.getXRot();
+    this.yRotO = this.getYRot();
+    this.yBodyRotO = this.yBodyRot;
+    this.yHeadRotO = this.yHeadRot;
+    this.animationSpeedOld = this.animationSpeed;
+    this.walkDistO = this.walkDist;
+  }
+
+  @Override
+  protected void serverAiStep() {
+    // Throttle goal evaluation and sensing depending on the distance to the nearest player.
+    if (EntityTickScheduler.shouldRunServerAi(this)) {
+      super.serverAiStep();
+    } else if (this.tickTier == EntityTickScheduler.TickTier.MID) {
+      // Keep running goals and controls updated, to avoid frozen heads and movements.
+      this.goalSelector.tickRunningGoals(false);
+      this.targetSelector.tickRunningGoals(false);
+      this.navigation.tick();
+      this.moveControl.tick();
+      this.lookControl.tick();
+      this.jumpControl.tick();
+    }
   }
 
   @Override
@@ -92,8 +190,8 @@ public class EasyNPCEntity extends EasyNPCEntityData {
   @Override
   protected void registerGoals() {
     super.registerGoals();
-    this.goalSelector.addGoal(9, new LookAtPlayerGoal(this, Player.class, 15.0F, 1.0F));
-    this.goalSelector.addGoal(10, new LookAtPlayerGoal(this, Mob.class, 15.0F));
+    this.goalSelector.addGoal(9, new LookAtEntityGoal(this, Player.class, 15.0F, 1.0F));
+    this.goalSelector.addGoal(10, new LookAtEntityGoal(this, Mob.class, 15.0F));
   }
 
   @Override
@@ -19,7 +19,10 @@
 
 package de.markusbordihn.easynpc.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,9 +31,13 @@ import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import io.netty.buffer.Unpooled;
+
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
+import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.syncher.EntityDataAccessor;
 import net.minecraft.network.syncher.EntityDataSerializers;
 import net.minecraft.network.syncher.SynchedEntityData;
@@ -41,15 +48,21 @@ import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.npc.Npc;
 import net.minecraft.world.level.Level;
 
+import net.minecraftforge.entity.IEntityAdditionalSpawnData;
+import net.minecraftforge.network.NetworkHooks;
+
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.action.ActionDataHelper;
 import de.markusbordihn.easynpc.action.ActionType;
+import de.markusbordihn.easynpc.commands.CachedCommand;
+import de.markusbordihn.easynpc.dialog.DialogData;
 import de.markusbordihn.easynpc.dialog.DialogType;
+import de.markusbordihn.easynpc.network.NetworkHandler;
 import de.markusbordihn.easynpc.skin.SkinModel;
 import de.markusbordihn.easynpc.skin.SkinType;
 import de.markusbordihn.easynpc.utils.TextUtils;
 
-public class EasyNPCEntityData extends AgeableMob implements Npc {
+public class EasyNPCEntityData extends AgeableMob implements Npc, IEntityAdditionalSpawnData {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
@@ -63,75 +76,97 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
   private ResourceLocation professionTextureLocation;
   private ResourceLocation textureLocation;
   private boolean hasBaseTextureLocation = false;
+  private ResourceLocation variantTextureLocation;
   private boolean hasProfessionTextureLocation = false;
   private boolean hasTextureLocation = false;
+  private boolean hasVariantTextureLocation = false;
 
   // Default Variants
-  private enum Variant {
+  protected enum Variant {
     STEVE
   }
 
   // Cache
   private int actionPermissionLevel = 0;
+  private Map<ActionType, String> actionDataCache = Collections.emptyMap();
+  private final Map<ActionType, CachedCommand> cachedCommands = new EnumMap<>(ActionType.class);
+  private DialogData dialogDataCache = null;
+  private Component nameStringCustomName = null;
+  private String nameStringCache = null;
+
+  // Server-side Dialog Data, which is only sent to the client on demand.
+  private String dialog = "";
+  private String noDialog = "";
+  private String noDialogButton = DialogData.DEFAULT_NO_DIALOG_BUTTON;
+  private String yesDialog = "";
+  private String yesDialogButton = DialogData.DEFAULT_YES_DIALOG_BUTTON;
+
+  // Configuration Data, which is sent to the client with the spawn data and on changes.
+  private CompoundTag actionData = new CompoundTag();
+  private boolean actionDebug = false;
+  private DialogType dialogType = DialogType.NONE;
+  private UUID ownerUUID = null;
+  private Float scaleX = this.getDefaultScaleX();
+  private Float scaleY = this.getDefaultScaleY();
+  private Float scaleZ = this.getDefaultScaleZ();
+  private String skin = "";
+  private String skinURL = "";
+  private Optional<UUID> skinUUID = Optional.empty();
+  private boolean spawnDataChanged = false;
+
+  // Resolved Synced Data, to avoid synced data lookups on the render path.
+  private Profession profession = this.entityData.get(DATA_PROFESSION);
+  private SkinType skinType = this.entityData.get(DATA_SKIN_TYPE);
+  private Enum<?> variant = this.entityData.get(DATA_VARIANT);
+
+  // Spawn Data, default values are omitted and marked by the following bit flags.
+  private static final byte SPAWN_DATA_VERSION = 1;
+  private static final int SPAWN_DATA_ACTION_DATA = 1;
+  private static final int SPAWN_DATA_ACTION_DEBUG = 1 << 1;
+  private static final int SPAWN_DATA_DIALOG_TYPE = 1 << 2;
+  private static final int SPAWN_DATA_OWNER = 1 << 3;
+  private static final int SPAWN_DATA_SCALE_X = 1 << 4;
+  private static final int SPAWN_DATA_SCALE_Y = 1 << 5;
+  private static final int SPAWN_DATA_SCALE_Z = 1 << 6;
+  private static final int SPAWN_DATA_SKIN = 1 << 7;
+  private static final int SPAWN_DATA_SKIN_URL = 1 << 8;
+  private static final int SPAWN_DATA_SKIN_UUID = 1 << 9;
 
   // Synced Data
-  private static final EntityDataAccessor<CompoundTag> DATA_ACTION_DATA =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.COMPOUND_TAG);
-  private static final EntityDataAccessor<Boolean> DATA_ACTION_DEBUG =
+  private static final EntityDataAccessor<Profession> DATA_PROFESSION =
+      SynchedEntityData.defineId(EasyNPCEntityData.class, ModDataSerializers.PROFESSION);
+  private static final EntityDataAccessor<SkinType> DATA_SKIN_TYPE =
+      SynchedEntityData.defineId(EasyNPCEntityData.class, ModDataSerializers.SKIN_TYPE);
+  private static final EntityDataAccessor<Boolean> DATA_STATIC =
       SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.BOOLEAN);
-  private static final EntityDataAccessor<Optional<UUID>> DATA_OWNER_UUID_ID =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.OPTIONAL_UUID);
-  private static final EntityDataAccessor<String> DATA_DIALOG =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<String> DATA_DIALOG_TYPE =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<String> DATA_NO_DIALOG =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<String> DATA_NO_DIALOG_BUTTON =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<String> DATA_PROFESSION =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<Float> DATA_SCALE_X =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.FLOAT);
-  private static final EntityDataAccessor<Float> DATA_SCALE_Y =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.FLOAT);
-  private static final EntityDataAccessor<Float> DATA_SCALE_Z =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.FLOAT);
-  private static final EntityDataAccessor<String> DATA_SKIN =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<String> DATA_SKIN_URL =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<Optional<UUID>> DATA_SKIN_UUID =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.OPTIONAL_UUID);
-  private static final EntityDataAccessor<String> DATA_SKIN_TYPE =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<String> DATA_VARIANT =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<String> DATA_YES_DIALOG =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
-  private static final EntityDataAccessor<String> DATA_YES_DIALOG_BUTTON =
-      SynchedEntityData.defineId(EasyNPCEntityData.class, EntityDataSerializers.STRING);
+  private static final EntityDataAccessor<Enum<?>> DATA_VARIANT =
+      SynchedEntityData.defineId(EasyNPCEntityData.class, ModDataSerializers.VARIANT);
+
+  // Stored Entity Data Version, data without version tag is handled as version 0.
+  static final int DATA_VERSION = 1;
+  static final String DATA_VERSION_TAG = "DataVersion";
 
   // Stored Entity Data Tags
-  private static final String DATA_ACTION_DATA_TAG = "ActionData";
-  private static final String DATA_ACTION_DEBUG_TAG = "ActionDebug";
-  private static final String DATA_ACTION_PERMISSION_LEVEL_TAG = "ActionPermissionLevel";
-  private static final String DATA_DIALOG_TAG = "Dialog";
-  private static final String DATA_DIALOG_TYPE_TAG = "DialogType";
-  private static final String DATA_NO_DIALOG_BUTTON_TAG = "NoDialogButton";
-  private static final String DATA_NO_DIALOG_TAG = "NoDialog";
-  private static final String DATA_OWNER_TAG = "Owner";
-  private static final String DATA_PROFESSION_TAG = "Profession";
-  private static final String DATA_SCALE_X_TAG = "ScaleX";
-  private static final String DATA_SCALE_Y_TAG = "ScaleY";
-  private static final String DATA_SCALE_Z_TAG = "ScaleZ";
-  private static final String DATA_SKIN_TAG = "Skin";
-  private static final String DATA_SKIN_URL_TAG = "SkinURL";
-  private static final String DATA_SKIN_UUID_TAG = "SkinUUID";
-  private static final String DATA_SKIN_TYPE_TAG = "SkinType";
-  private static final String DATA_VARIANT_TAG = "Variant";
-  private static final String DATA_YES_DIALOG_BUTTON_TAG = "YesDialogButton";
-  private static final String DATA_YES_DIALOG_TAG = "YesDialog";
+  static final String DATA_ACTION_DATA_TAG = "ActionData";
+  static final String DATA_ACTION_DEBUG_TAG = "ActionDebug";
+  static final String DATA_ACTION_PERMISSION_LEVEL_TAG = "ActionPermissionLevel";
+  static final String DATA_DIALOG_TAG = "Dialog";
+  static final String DATA_DIALOG_TYPE_TAG = "DialogType";
+  static final String DATA_NO_DIALOG_BUTTON_TAG = "NoDialogButton";
+  static final String DATA_NO_DIALOG_TAG = "NoDialog";
+  static final String DATA_OWNER_TAG = "Owner";
+  static final String DATA_PROFESSION_TAG = "Profession";
+  static final String DATA_SCALE_X_TAG = "ScaleX";
+  static final String DATA_SCALE_Y_TAG = "ScaleY";
+  static final String DATA_SCALE_Z_TAG = "ScaleZ";
+  static final String DATA_SKIN_TAG = "Skin";
+  static final String DATA_SKIN_URL_TAG = "SkinURL";
+  static final String DATA_SKIN_UUID_TAG = "SkinUUID";
+  static final String DATA_SKIN_TYPE_TAG = "SkinType";
+  static final String DATA_STATIC_TAG = "Static";
+  static final String DATA_VARIANT_TAG = "Variant";
+  static final String DATA_YES_DIALOG_BUTTON_TAG = "YesDialogButton";
+  static final String DATA_YES_DIALOG_TAG = "YesDialog";
 
   public EasyNPCEntityData(EntityType<? extends EasyNPCEntity> entityType, Level level) {
     super(entityType, level);
@@ -176,38 +211,66 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
     this.hasProfessionTextureLocation = textureLocation != null;
   }
 
+  public boolean hasVariantTextureLocation() {
+    return this.hasVariantTextureLocation;
+  }
+
+  public ResourceLocation getVariantTextureLocation() {
+    return this.variantTextureLocation;
+  }
+
+  public void setVariantTextureLocation(ResourceLocation textureLocation) {
+    this.variantTextureLocation = textureLocation;
+    this.hasVariantTextureLocation = textureLocation != null;
+  }
+
   public void setAction(ActionType actionType, String action) {
-    CompoundTag compoundTag =
-        ActionDataHelper.setAction(this.entityData.get(DATA_ACTION_DATA), actionType, action);
-    this.entityData.set(DATA_ACTION_DATA, compoundTag);
+    this.setActionData(ActionDataHelper.setAction(this.actionDataCache, actionType, action));
   }
 
   public String getAction(ActionType actionType) {
-    return ActionDataHelper.getAction(this.entityData.get(DATA_ACTION_DATA), actionType);
+    return this.actionDataCache.getOrDefault(actionType, "");
   }
 
   public boolean hasAction(ActionType actionType) {
-    return ActionDataHelper.hasAction(this.entityData.get(DATA_ACTION_DATA), actionType);
+    return this.actionDataCache.containsKey(actionType);
   }
 
   public Map<ActionType, String> getActions() {
-    return ActionDataHelper.readActionData(this.entityData.get(DATA_ACTION_DATA));
+    return this.actionDataCache;
+  }
+
+  public CachedCommand getCachedCommand(ActionType actionType) {
+    return this.cachedCommands.computeIfAbsent(actionType, key -> new CachedCommand());
+  }
+
+  private void setActions(Map<ActionType, String> actions) {
+    this.actionData = ActionDataHelper.saveActionData(actions);
+    this.actionDataCache = Collections.unmodifiableMap(actions);
+    this.cachedCommands.clear();
   }
 
   public CompoundTag getActionData() {
-    return this.entityData.get(DATA_ACTION_DATA);
+    return this.actionData;
   }
 
   public void setActionData(CompoundTag compoundTag) {
-    this.entityData.set(DATA_ACTION_DATA, compoundTag);
+    this.actionData = compoundTag != null ? compoundTag : new CompoundTag();
+    this.actionDataCache =
+        Collections.unmodifiableMap(ActionDataHelper.readActionData(this.actionData));
+    this.cachedCommands.clear();
+    this.markSpawnDataChanged();
   }
 
   public boolean getActionDebug() {
-    return this.entityData.get(DATA_ACTION_DEBUG);
+    return this.actionDebug;
   }
 
   public void setActionDebug(boolean enableDebug) {
-    this.entityData.set(DATA_ACTION_DEBUG, enableDebug);
+    if (this.actionDebug != enableDebug) {
+      this.actionDebug = enableDebug;
+      this.markSpawnDataChanged();
+    }
   }
 
   public int getActionPermissionLevel() {
@@ -219,55 +282,81 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
   }
 
   public DialogType getDialogType() {
-    return DialogType.get(this.entityData.get(DATA_DIALOG_TYPE));
+    return this.dialogType;
   }
 
   public void setDialogType(DialogType dialogType) {
-    this.entityData.set(DATA_DIALOG_TYPE, dialogType != null ? dialogType.name() : "");
+    DialogType newDialogType = dialogType != null ? dialogType : DialogType.NONE;
+    if (this.dialogType != newDialogType) {
+      this.dialogType = newDialogType;
+      this.markSpawnDataChanged();
+    }
   }
 
   public boolean hasDialog() {
-    return !this.entityData.get(DATA_DIALOG).isEmpty();
+    return !this.dialog.isEmpty();
   }
 
   public String getDialog() {
-    return this.entityData.get(DATA_DIALOG);
+    return this.dialog;
   }
 
   public void setDialog(String dialog) {
-    this.entityData.set(DATA_DIALOG, dialog);
+    this.dialog = dialog != null ? dialog : "";
+    this.dialogDataCache = null;
   }
 
   public String getNoDialog() {
-    return this.entityData.get(DATA_NO_DIALOG);
+    return this.noDialog;
   }
 
   public void setNoDialog(String dialog) {
-    this.entityData.set(DATA_NO_DIALOG, dialog);
+    this.noDialog = dialog != null ? dialog : "";
+    this.dialogDataCache = null;
   }
 
   public String getNoDialogButton() {
-    return this.entityData.get(DATA_NO_DIALOG_BUTTON);
+    return this.noDialogButton;
   }
 
   public void setNoDialogButton(String dialogButton) {
-    this.entityData.set(DATA_NO_DIALOG_BUTTON, dialogButton);
+    this.noDialogButton = dialogButton != null ? dialogButton : "";
+    this.dialogDataCache = null;
   }
 
   public String getYesDialog() {
-    return this.entityData.get(DATA_YES_DIALOG);
+    return this.yesDialog;
   }
 
   public void setYesDialog(String dialog) {
-    this.entityData.set(DATA_YES_DIALOG, dialog);
+    this.yesDialog = dialog != null ? dialog : "";
+    this.dialogDataCache = null;
   }
 
   public String getYesDialogButton() {
-    return this.entityData.get(DATA_YES_DIALOG_BUTTON);
+    return this.yesDialogButton;
   }
 
   public void setYesDialogButton(String dialogButton) {
-    this.entityData.set(DATA_YES_DIALOG_BUTTON, dialogButton);
+    this.yesDialogButton = dialogButton != null ? dialogButton : "";
+    this.dialogDataCache = null;
+  }
+
+  public DialogData getDialogData() {
+    if (this.dialogDataCache == null) {
+      this.dialogDataCache = new DialogData(this.dialog, this.yesDialog, this.noDialog,
+          this.yesDialogButton, this.noDialogButton);
+    }
+    return this.dialogDataCache;
+  }
+
+  public void setDialogData(DialogData dialogData) {
+    this.dialog = dialogData.getDialog();
+    this.yesDialog = dialogData.getYesDialog();
+    this.noDialog = dialogData.getNoDialog();
+    this.yesDialogButton = dialogData.getYesDialogButton();
+    this.noDialogButton = dialogData.getNoDialogButton();
+    this.dialogDataCache = dialogData;
   }
 
   public Enum<?> getDefaultProfession() {
@@ -275,7 +364,7 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
   }
 
   public Enum<?> getProfession() {
-    return getProfession(this.entityData.get(DATA_PROFESSION));
+    return this.profession;
   }
 
   public Enum<?> getProfession(String name) {
@@ -283,7 +372,11 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
   }
 
   public void setProfession(Enum<?> profession) {
-    this.entityData.set(DATA_PROFESSION, profession != null ? profession.name() : "");
+    if (profession instanceof Profession professionValue) {
+      this.entityData.set(DATA_PROFESSION, professionValue);
+    } else {
+      log.error("Unknown profession {} for {}", profession, this);
+    }
   }
 
   public void setProfession(String name) {
@@ -325,59 +418,80 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
   }
 
   public Float getScaleX() {
-    return this.entityData.get(DATA_SCALE_X);
+    return this.scaleX;
   }
 
   public void setScaleX(Float scale) {
-    this.entityData.set(DATA_SCALE_X, scale);
+    if (scale != null && !scale.equals(this.scaleX)) {
+      this.scaleX = scale;
+      this.markSpawnDataChanged();
+    }
   }
 
   public Float getScaleY() {
-    return this.entityData.get(DATA_SCALE_Y);
+    return this.scaleY;
   }
 
   public void setScaleY(Float scale) {
-    this.entityData.set(DATA_SCALE_Y, scale);
+    if (scale != null && !scale.equals(this.scaleY)) {
+      this.scaleY = scale;
+      this.markSpawnDataChanged();
+    }
   }
 
   public Float getScaleZ() {
-    return this.entityData.get(DATA_SCALE_Z);
+    return this.scaleZ;
   }
 
   public void setScaleZ(Float scale) {
-    this.entityData.set(DATA_SCALE_Z, scale);
+    if (scale != null && !scale.equals(this.scaleZ)) {
+      this.scaleZ = scale;
+      this.markSpawnDataChanged();
+    }
   }
 
   public String getSkin() {
-    return this.entityData.get(DATA_SKIN);
+    return this.skin;
   }
 
   public void setSkin(String skin) {
-    this.entityData.set(DATA_SKIN, skin != null ? skin : "");
+    String newSkin = skin != null ? skin : "";
+    if (!this.skin.equals(newSkin)) {
+      this.skin = newSkin;
+      this.markSpawnDataChanged();
+    }
   }
 
   public String getSkinURL() {
-    return this.entityData.get(DATA_SKIN_URL);
+    return this.skinURL;
   }
 
   public void setSkinURL(String skinURL) {
-    this.entityData.set(DATA_SKIN_URL, skinURL != null ? skinURL : "");
+    String newSkinURL = skinURL != null ? skinURL : "";
+    if (!this.skinURL.equals(newSkinURL)) {
+      this.skinURL = newSkinURL;
+      this.markSpawnDataChanged();
+    }
   }
 
   public Optional<UUID> getSkinUUID() {
-    return this.entityData.get(DATA_SKIN_UUID);
+    return this.skinUUID;
   }
 
   public void setSkinUUID(UUID uuid) {
-    this.entityData.set(DATA_SKIN_UUID, Optional.of(uuid));
+    this.setSkinUUID(Optional.ofNullable(uuid));
   }
 
   public void setSkinUUID(Optional<UUID> uuid) {
-    this.entityData.set(DATA_SKIN_UUID, uuid);
+    Optional<UUID> newSkinUUID = uuid != null ? uuid : Optional.empty();
+    if (!this.skinUUID.equals(newSkinUUID)) {
+      this.skinUUID = newSkinUUID;
+      this.markSpawnDataChanged();
+    }
   }
 
   public SkinType getSkinType() {
-    return getSkinType(this.entityData.get(DATA_SKIN_TYPE));
+    return this.skinType;
   }
 
   public SkinType getSkinType(String name) {
@@ -385,7 +499,7 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
   }
 
   public void setSkinType(SkinType skinType) {
-    this.entityData.set(DATA_SKIN_TYPE, skinType != null ? skinType.name() : "");
+    this.entityData.set(DATA_SKIN_TYPE, skinType != null ? skinType : SkinType.DEFAULT);
   }
 
   public void setSkinType(String name) {
@@ -397,6 +511,14 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
     }
   }
 
+  public boolean isStatic() {
+    return this.entityData.get(DATA_STATIC);
+  }
+
+  public void setStatic(boolean isStatic) {
+    this.entityData.set(DATA_STATIC, isStatic);
+  }
+
   public SkinModel getSkinModel() {
     return SkinModel.HUMANOID;
   }
@@ -406,7 +528,7 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
   }
 
   public Enum<?> getVariant() {
-    return getVariant(this.entityData.get(DATA_VARIANT));
+    return this.variant;
   }
 
   public Enum<?> getVariant(String name) {
@@ -414,7 +536,7 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
   }
 
   public void setVariant(Enum<?> variant) {
-    this.entityData.set(DATA_VARIANT, variant != null ? variant.name() : "");
+    this.entityData.set(DATA_VARIANT, variant != null ? variant : this.getDefaultVariant());
   }
 
   public void setVariant(String name) {
@@ -441,104 +563,280 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
     return component != null ? TextUtils.removeAction(component) : this.getTypeName();
   }
 
+  public String getNameString() {
+    Component customName = this.getCustomName();
+    if (this.nameStringCache == null || customName != this.nameStringCustomName) {
+      this.nameStringCustomName = customName;
+      this.nameStringCache = this.getName().getString();
+    }
+    return this.nameStringCache;
+  }
+
   @Nullable
   public UUID getOwnerUUID() {
-    return this.entityData.get(DATA_OWNER_UUID_ID).orElse((UUID) null);
+    return this.ownerUUID;
   }
 
   public void setOwnerUUID(@Nullable UUID uuid) {
-    this.entityData.set(DATA_OWNER_UUID_ID, Optional.ofNullable(uuid));
+    if (Objects.equals(this.ownerUUID, uuid)) {
+      return;
+    }
+    this.ownerUUID = uuid;
+    this.markSpawnDataChanged();
+
+    // Owner changes need to be reflected in the server-side owner index.
+    if (!this.level.isClientSide && this instanceof EasyNPCEntity easyNPCEntity) {
+      EntityManager.updateIndex(easyNPCEntity);
+    }
   }
 
   public boolean hasOwner() {
     return this.getOwnerUUID() != null;
   }
 
+  @Override
+  public void onSyncedDataUpdated(EntityDataAccessor<?> entityDataAccessor) {
+    super.onSyncedDataUpdated(entityDataAccessor);
+
+    // Resolved values and textures are only updated, if the synced data has changed.
+    if (DATA_PROFESSION.equals(entityDataAccessor)) {
+      this.profession = this.entityData.get(DATA_PROFESSION);
+      this.setProfessionTextureLocation(null);
+    } else if (DATA_SKIN_TYPE.equals(entityDataAccessor)) {
+      this.skinType = this.entityData.get(DATA_SKIN_TYPE);
+    } else if (DATA_VARIANT.equals(entityDataAccessor)) {
+      this.variant = this.entityData.get(DATA_VARIANT);
+      this.setVariantTextureLocation(null);
+    }
+  }
+
+  private void markSpawnDataChanged() {
+    if (!this.level.isClientSide) {
+      this.spawnDataChanged = true;
+    }
+  }
+
+  protected void syncSpawnData() {
+    if (this.spawnDataChanged) {
+      this.spawnDataChanged = false;
+      NetworkHandler.updateSpawnData(this);
+    }
+  }
+
+  public byte[] getSpawnData() {
+    FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+    try {
+      this.writeSpawnData(buffer);
+      byte[] spawnData = new byte[buffer.readableBytes()];
+      buffer.readBytes(spawnData);
+      return spawnData;
+    } finally {
+      buffer.release();
+    }
+  }
+
+  public void setSpawnData(byte[] spawnData) {
+    this.readSpawnData(new FriendlyByteBuf(Unpooled.wrappedBuffer(spawnData)));
+  }
+
+  @Override
+  public void writeSpawnData(FriendlyByteBuf buffer) {
+    int flags = 0;
+    if (!this.actionDataCache.isEmpty()) {
+      flags |= SPAWN_DATA_ACTION_DATA;
+    }
+    if (this.actionDebug) {
+      flags |= SPAWN_DATA_ACTION_DEBUG;
+    }
+    if (this.dialogType != DialogType.NONE) {
+      flags |= SPAWN_DATA_DIALOG_TYPE;
+    }
+    if (this.ownerUUID != null) {
+      flags |= SPAWN_DATA_OWNER;
+    }
+    if (!this.scaleX.equals(this.getDefaultScaleX())) {
+      flags |= SPAWN_DATA_SCALE_X;
+    }
+    if (!this.scaleY.equals(this.getDefaultScaleY())) {
+      flags |= SPAWN_DATA_SCALE_Y;
+    }
+    if (!this.scaleZ.equals(this.getDefaultScaleZ())) {
+      flags |= SPAWN_DATA_SCALE_Z;
+    }
+    if (!this.skin.isEmpty()) {
+      flags |= SPAWN_DATA_SKIN;
+    }
+    if (!this.skinURL.isEmpty()) {
+      flags |= SPAWN_DATA_SKIN_URL;
+    }
+    if (this.skinUUID.isPresent()) {
+      flags |= SPAWN_DATA_SKIN_UUID;
+    }
+
+    buffer.writeByte(SPAWN_DATA_VERSION);
+    buffer.writeVarInt(flags);
+    if ((flags & SPAWN_DATA_ACTION_DATA) != 0) {
+      ActionDataHelper.writeActionData(buffer, this.actionDataCache);
+    }
+    if ((flags & SPAWN_DATA_DIALOG_TYPE) != 0) {
+      buffer.writeVarInt(this.dialogType.ordinal());
+    }
+    if ((flags & SPAWN_DATA_OWNER) != 0) {
+      buffer.writeUUID(this.ownerUUID);
+    }
+    if ((flags & SPAWN_DATA_SCALE_X) != 0) {
+      buffer.writeFloat(this.scaleX);
+    }
+    if ((flags & SPAWN_DATA_SCALE_Y) != 0) {
+      buffer.writeFloat(this.scaleY);
+    }
+    if ((flags & SPAWN_DATA_SCALE_Z) != 0) {
+      buffer.writeFloat(this.scaleZ);
+    }
+    if ((flags & SPAWN_DATA_SKIN) != 0) {
+      buffer.writeUtf(this.skin);
+    }
+    if ((flags & SPAWN_DATA_SKIN_URL) != 0) {
+      buffer.writeUtf(this.skinURL);
+    }
+    if ((flags & SPAWN_DATA_SKIN_UUID) != 0) {
+      buffer.writeUUID(this.skinUUID.get());
+    }
+  }
+
+  @Override
+  public void readSpawnData(FriendlyByteBuf buffer) {
+    byte version = buffer.readByte();
+    if (version != SPAWN_DATA_VERSION) {
+      log.error("Unsupported spawn data version {} for {}", version, this);
+      return;
+    }
+
+    // Fields which are not part of the spawn data are reset to their default values.
+    int flags = buffer.readVarInt();
+    this.setActions((flags & SPAWN_DATA_ACTION_DATA) != 0 ? ActionDataHelper.readActionData(buffer)
+        : new EnumMap<>(ActionType.class));
+    this.actionDebug = (flags & SPAWN_DATA_ACTION_DEBUG) != 0;
+    this.dialogType =
+        (flags & SPAWN_DATA_DIALOG_TYPE) != 0 ? readDialogType(buffer) : DialogType.NONE;
+    this.ownerUUID = (flags & SPAWN_DATA_OWNER) != 0 ? buffer.readUUID() : null;
+    this.scaleX = (flags & SPAWN_DATA_SCALE_X) != 0 ? buffer.readFloat() : this.getDefaultScaleX();
+    this.scaleY = (flags & SPAWN_DATA_SCALE_Y) != 0 ? buffer.readFloat() : this.getDefaultScaleY();
+    this.scaleZ = (flags & SPAWN_DATA_SCALE_Z) != 0 ? buffer.readFloat() : this.getDefaultScaleZ();
+    this.skin = (flags & SPAWN_DATA_SKIN) != 0 ? buffer.readUtf() : "";
+    this.skinURL = (flags & SPAWN_DATA_SKIN_URL) != 0 ? buffer.readUtf() : "";
+    this.skinUUID =
+        (flags & SPAWN_DATA_SKIN_UUID) != 0 ? Optional.of(buffer.readUUID()) : Optional.empty();
+  }
+
+  private static DialogType readDialogType(FriendlyByteBuf buffer) {
+    int ordinal = buffer.readVarInt();
+    DialogType[] values = DialogType.values();
+    return ordinal >= 0 && ordinal < values.length ? values[ordinal] : DialogType.NONE;
+  }
+
+  @Override
+  public Packet<?> getAddEntityPacket() {
+    return NetworkHooks.getEntitySpawningPacket(this);
+  }
+
   @Override
   protected void defineSynchedData() {
     super.defineSynchedData();
-    this.entityData.define(DATA_ACTION_DATA, new CompoundTag());
-    this.entityData.define(DATA_ACTION_DEBUG, false);
-    this.entityData.define(DATA_DIALOG, "");
-    this.entityData.define(DATA_DIALOG_TYPE, DialogType.NONE.name());
-    this.entityData.define(DATA_NO_DIALOG, "");
-    this.entityData.define(DATA_NO_DIALOG_BUTTON, "No");
-    this.entityData.define(DATA_OWNER_UUID_ID, Optional.empty());
-    this.entityData.define(DATA_PROFESSION, this.getDefaultProfession().name());
-    this.entityData.define(DATA_SCALE_X, this.getDefaultScaleX());
-    this.entityData.define(DATA_SCALE_Y, this.getDefaultScaleY());
-    this.entityData.define(DATA_SCALE_Z, this.getDefaultScaleZ());
-    this.entityData.define(DATA_SKIN, "");
-    this.entityData.define(DATA_SKIN_URL, "");
-    this.entityData.define(DATA_SKIN_UUID, Optional.empty());
-    this.entityData.define(DATA_SKIN_TYPE, SkinType.DEFAULT.name());
-    this.entityData.define(DATA_VARIANT, this.getDefaultVariant().name());
-    this.entityData.define(DATA_YES_DIALOG, "");
-    this.entityData.define(DATA_YES_DIALOG_BUTTON, "Yes");
+    this.entityData.define(DATA_PROFESSION,
+        this.getDefaultProfession() instanceof Profession profession ? profession
+            : Profession.NONE);
+    this.entityData.define(DATA_SKIN_TYPE, SkinType.DEFAULT);
+    this.entityData.define(DATA_STATIC, false);
+    this.entityData.define(DATA_VARIANT, this.getDefaultVariant());
   }
 
   @Override
   public void addAdditionalSaveData(CompoundTag compoundTag) {
     super.addAdditionalSaveData(compoundTag);
-    if (ActionDataHelper.hasActionData(getActionData())) {
-      compoundTag.put(DATA_ACTION_DATA_TAG, getActionData());
+    compoundTag.putInt(DATA_VERSION_TAG, DATA_VERSION);
+
+    // Only values which differ from their defaults are stored.
+    if (!this.actionDataCache.isEmpty()) {
+      compoundTag.put(DATA_ACTION_DATA_TAG, this.actionData);
+    }
+    if (this.actionPermissionLevel != 0) {
+      compoundTag.putInt(DATA_ACTION_PERMISSION_LEVEL_TAG, this.actionPermissionLevel);
+    }
+    if (this.actionDebug) {
+      compoundTag.putBoolean(DATA_ACTION_DEBUG_TAG, true);
     }
-    compoundTag.putInt(DATA_ACTION_PERMISSION_LEVEL_TAG, this.getActionPermissionLevel());
-    compoundTag.putBoolean(DATA_ACTION_DEBUG_TAG, this.getActionDebug());
-    if (this.getDialogType() != null) {
-      compoundTag.putString(DATA_DIALOG_TYPE_TAG, this.getDialogType().name());
+    if (this.dialogType != DialogType.NONE) {
+      compoundTag.putString(DATA_DIALOG_TYPE_TAG, this.dialogType.name());
     }
-    if (this.getDialog() != null) {
-      compoundTag.putString(DATA_DIALOG_TAG, this.getDialog());
+    if (!this.dialog.isEmpty()) {
+      compoundTag.putString(DATA_DIALOG_TAG, this.dialog);
     }
-    if (this.getNoDialog() != null) {
-      compoundTag.putString(DATA_NO_DIALOG_TAG, this.getNoDialog());
+    if (!this.noDialog.isEmpty()) {
+      compoundTag.putString(DATA_NO_DIALOG_TAG, this.noDialog);
     }
-    if (this.getNoDialogButton() != null) {
-      compoundTag.putString(DATA_NO_DIALOG_BUTTON_TAG, this.getNoDialogButton());
+    if (!DialogData.DEFAULT_NO_DIALOG_BUTTON.equals(this.noDialogButton)) {
+      compoundTag.putString(DATA_NO_DIALOG_BUTTON_TAG, this.noDialogButton);
     }
-    if (this.getYesDialog() != null) {
-      compoundTag.putString(DATA_YES_DIALOG_TAG, this.getYesDialog());
+    if (!this.yesDialog.isEmpty()) {
+      compoundTag.putString(DATA_YES_DIALOG_TAG, this.yesDialog);
     }
-    if (this.getYesDialogButton() != null) {
-      compoundTag.putString(DATA_YES_DIALOG_BUTTON_TAG, this.getYesDialogButton());
+    if (!DialogData.DEFAULT_YES_DIALOG_BUTTON.equals(this.yesDialogButton)) {
+      compoundTag.putString(DATA_YES_DIALOG_BUTTON_TAG, this.yesDialogButton);
     }
-    if (this.getOwnerUUID() != null) {
-      compoundTag.putUUID(DATA_OWNER_TAG, this.getOwnerUUID());
+    if (this.ownerUUID != null) {
+      compoundTag.putUUID(DATA_OWNER_TAG, this.ownerUUID);
     }
-    if (this.getProfession() != null) {
-      compoundTag.putString(DATA_PROFESSION_TAG, this.getProfession().name());
+    Enum<?> profession = this.getProfession();
+    if (profession != null && profession != this.getDefaultProfession()) {
+      compoundTag.putString(DATA_PROFESSION_TAG, profession.name());
     }
-    if (this.getScaleX() != null && this.getScaleX() > 0.0f) {
-      compoundTag.putFloat(DATA_SCALE_X_TAG, this.getScaleX());
+    if (this.scaleX > 0.0f && !this.scaleX.equals(this.getDefaultScaleX())) {
+      compoundTag.putFloat(DATA_SCALE_X_TAG, this.scaleX);
     }
-    if (this.getScaleY() != null && this.getScaleY() > 0.0f) {
-      compoundTag.putFloat(DATA_SCALE_Y_TAG, this.getScaleY());
+    if (this.scaleY > 0.0f && !this.scaleY.equals(this.getDefaultScaleY())) {
+      compoundTag.putFloat(DATA_SCALE_Y_TAG, this.scaleY);
     }
-    if (this.getScaleZ() != null && this.getScaleZ() > 0.0f) {
-      compoundTag.putFloat(DATA_SCALE_Z_TAG, this.getScaleZ());
+    if (this.scaleZ > 0.0f && !this.scaleZ.equals(this.getDefaultScaleZ())) {
+      compoundTag.putFloat(DATA_SCALE_Z_TAG, this.scaleZ);
     }
-    if (this.getSkin() != null) {
-      compoundTag.putString(DATA_SKIN_TAG, this.getSkin());
+    if (!this.skin.isEmpty()) {
+      compoundTag.putString(DATA_SKIN_TAG, this.skin);
     }
-    if (this.getSkinURL() != null) {
-      compoundTag.putString(DATA_SKIN_URL_TAG, this.getSkinURL());
+    if (!this.skinURL.isEmpty()) {
+      compoundTag.putString(DATA_SKIN_URL_TAG, this.skinURL);
     }
-    Optional<UUID> skinUUID = this.getSkinUUID();
-    if (skinUUID.isPresent()) {
-      compoundTag.putUUID(DATA_SKIN_UUID_TAG, skinUUID.get());
+    if (this.skinUUID.isPresent()) {
+      compoundTag.putUUID(DATA_SKIN_UUID_TAG, this.skinUUID.get());
     }
-    if (this.getSkinType() != null) {
-      compoundTag.putString(DATA_SKIN_TYPE_TAG, this.getSkinType().name());
+    SkinType skinType = this.getSkinType();
+    if (skinType != null && skinType != SkinType.DEFAULT) {
+      compoundTag.putString(DATA_SKIN_TYPE_TAG, skinType.name());
     }
-    if (this.getVariant() != null) {
-      compoundTag.putString(DATA_VARIANT_TAG, this.getVariant().name());
+    Enum<?> variant = this.getVariant();
+    if (variant != null && variant != this.getDefaultVariant()) {
+      compoundTag.putString(DATA_VARIANT_TAG, variant.name());
+    }
+    if (this.isStatic()) {
+      compoundTag.putBoolean(DATA_STATIC_TAG, true);
     }
   }
 
   @Override
   public void readAdditionalSaveData(CompoundTag compoundTag) {
     super.readAdditionalSaveData(compoundTag);
+
+    // Legacy data without a data version uses the same tags, but stores all default values.
+    // Missing tags are read as defaults, so both layouts are read the same way and legacy data
+    // is written in the sparse layout with the next save.
+    int dataVersion = compoundTag.getInt(DATA_VERSION_TAG);
+    if (dataVersion > DATA_VERSION) {
+      log.warn("Data version {} of {} is newer than the supported data version {}!", dataVersion,
+          this, DATA_VERSION);
+    } else if (dataVersion < DATA_VERSION) {
+      log.debug("Migrating {} from data version {} to {} ...", this, dataVersion, DATA_VERSION);
+    }
+
     if (compoundTag.contains(DATA_ACTION_DATA_TAG)) {
       this.setActionData(compoundTag.getCompound(DATA_ACTION_DATA_TAG));
     }
@@ -644,6 +942,9 @@ public class EasyNPCEntityData extends AgeableMob implements Npc {
         this.setSkinType(this.getSkinType(skinType));
       }
     }
+    if (compoundTag.contains(DATA_STATIC_TAG)) {
+      this.setStatic(compoundTag.getBoolean(DATA_STATIC_TAG));
+    }
   }
 
   @Override
@@ -36,6 +36,7 @@ import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraftforge.network.NetworkHooks;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.dialog.DialogDataManager;
 import de.markusbordihn.easynpc.menu.DialogMenu;
 import de.markusbordihn.easynpc.menu.configuration.action.BasicActionConfigurationMenu;
 import de.markusbordihn.easynpc.menu.configuration.dialog.BasicDialogConfigurationMenu;
@@ -107,6 +108,7 @@ public class EasyNPCEntityMenu {
         return new BasicDialogConfigurationMenu(windowId, inventory, uuid);
       }
     };
+    DialogDataManager.sendDialogData(serverPlayer, entity);
     NetworkHooks.openGui(serverPlayer, provider, buffer -> buffer.writeUUID(uuid));
   }
 
@@ -126,6 +128,7 @@ public class EasyNPCEntityMenu {
         return new YesNoDialogConfigurationMenu(windowId, inventory, uuid);
       }
     };
+    DialogDataManager.sendDialogData(serverPlayer, entity);
     NetworkHooks.openGui(serverPlayer, provider, buffer -> buffer.writeUUID(uuid));
   }
 
@@ -237,6 +240,7 @@ public class EasyNPCEntityMenu {
         return new DialogMenu(windowId, inventory, uuid);
       }
     };
+    DialogDataManager.sendDialogData(serverPlayer, entity);
     NetworkHooks.openGui(serverPlayer, provider, buffer -> buffer.writeUUID(uuid));
   }
 
@@ -0,0 +1,196 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Secondary indexes of entities by dimension, chunk, entity type and owner. The index itself does
+ * not depend on a level, the keys are provided by the caller, see {@link EntityManager}.
+ *
+ * @param <E> entity
+ * @param <D> dimension key
+ * @param <T> entity type key
+ */
+public class EntityIndex<E, D, T> {
+
+  private final Map<UUID, IndexEntry<E, D, T>> indexEntryMap = new ConcurrentHashMap<>();
+  private final Map<D, Set<E>> dimensionIndex = new ConcurrentHashMap<>();
+  private final Map<D, Map<Long, Set<E>>> chunkIndex = new ConcurrentHashMap<>();
+  private final Map<D, Map<T, Set<E>>> dimensionTypeIndex = new ConcurrentHashMap<>();
+  private final Map<UUID, Set<E>> ownerIndex = new ConcurrentHashMap<>();
+  private final Map<T, Set<E>> typeIndex = new ConcurrentHashMap<>();
+
+  public void add(UUID uuid, E entity, D dimension, long chunk, T entityType, UUID owner) {
+    IndexEntry<E, D, T> indexEntry =
+        new IndexEntry<>(entity, dimension, chunk, entityType, owner);
+    IndexEntry<E, D, T> formerIndexEntry = this.indexEntryMap.put(uuid, indexEntry);
+    if (formerIndexEntry != null) {
+      removeIndex(formerIndexEntry);
+    }
+    this.dimensionIndex.computeIfAbsent(dimension, key -> ConcurrentHashMap.newKeySet())
+        .add(entity);
+    this.chunkIndex.computeIfAbsent(dimension, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(chunk, key -> ConcurrentHashMap.newKeySet()).add(entity);
+    this.dimensionTypeIndex.computeIfAbsent(dimension, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(entityType, key -> ConcurrentHashMap.newKeySet()).add(entity);
+    this.typeIndex.computeIfAbsent(entityType, key -> ConcurrentHashMap.newKeySet()).add(entity);
+    if (owner != null) {
+      this.ownerIndex.computeIfAbsent(owner, key -> ConcurrentHashMap.newKeySet()).add(entity);
+    }
+  }
+
+  /** Updates the index of an already indexed entity, if any of the keys has changed. */
+  public void update(UUID uuid, E entity, D dimension, long chunk, T entityType, UUID owner) {
+    IndexEntry<E, D, T> indexEntry = this.indexEntryMap.get(uuid);
+    if (indexEntry == null || indexEntry.entity != entity) {
+      return;
+    }
+    if (!indexEntry.equalKeys(dimension, chunk, entityType, owner)) {
+      add(uuid, entity, dimension, chunk, entityType, owner);
+    }
+  }
+
+  public void remove(UUID uuid, E entity) {
+    IndexEntry<E, D, T> indexEntry = this.indexEntryMap.get(uuid);
+    if (indexEntry != null && indexEntry.entity == entity) {
+      this.indexEntryMap.remove(uuid);
+      removeIndex(indexEntry);
+    }
+  }
+
+  private void removeIndex(IndexEntry<E, D, T> indexEntry) {
+    E entity = indexEntry.entity;
+    removeFromIndex(this.dimensionIndex, indexEntry.dimension, entity);
+    Map<Long, Set<E>> chunkMap = this.chunkIndex.get(indexEntry.dimension);
+    if (chunkMap != null) {
+      removeFromIndex(chunkMap, indexEntry.chunk, entity);
+    }
+    Map<T, Set<E>> typeMap = this.dimensionTypeIndex.get(indexEntry.dimension);
+    if (typeMap != null) {
+      removeFromIndex(typeMap, indexEntry.entityType, entity);
+    }
+    removeFromIndex(this.typeIndex, indexEntry.entityType, entity);
+    if (indexEntry.owner != null) {
+      removeFromIndex(this.ownerIndex, indexEntry.owner, entity);
+    }
+  }
+
+  private static <K, E> void removeFromIndex(Map<K, Set<E>> index, K key, E entity) {
+    index.computeIfPresent(key, (indexKey, entities) -> {
+      entities.remove(entity);
+      return entities.isEmpty() ? null : entities;
+    });
+  }
+
+  public void clear() {
+    this.indexEntryMap.clear();
+    this.dimensionIndex.clear();
+    this.chunkIndex.clear();
+    this.dimensionTypeIndex.clear();
+    this.ownerIndex.clear();
+    this.typeIndex.clear();
+  }
+
+  public int size() {
+    return this.indexEntryMap.size();
+  }
+
+  public Set<E> getByDimension(D dimension) {
+    return Collections.unmodifiableSet(this.dimensionIndex.getOrDefault(dimension, Set.of()));
+  }
+
+  public Set<E> getByChunk(D dimension, long chunk) {
+    Map<Long, Set<E>> chunkMap = this.chunkIndex.get(dimension);
+    if (chunkMap == null) {
+      return Set.of();
+    }
+    return Collections.unmodifiableSet(chunkMap.getOrDefault(chunk, Set.of()));
+  }
+
+  public List<E> getByChunkRegion(D dimension, int fromChunkX, int fromChunkZ, int toChunkX,
+      int toChunkZ) {
+    List<E> entities = new ArrayList<>();
+    Map<Long, Set<E>> chunkMap = this.chunkIndex.get(dimension);
+    if (chunkMap == null || chunkMap.isEmpty()) {
+      return entities;
+    }
+    int minX = Math.min(fromChunkX, toChunkX);
+    int maxX = Math.max(fromChunkX, toChunkX);
+    int minZ = Math.min(fromChunkZ, toChunkZ);
+    int maxZ = Math.max(fromChunkZ, toChunkZ);
+    for (int x = minX; x <= maxX; x++) {
+      for (int z = minZ; z <= maxZ; z++) {
+        Set<E> chunkEntities = chunkMap.get(ChunkPos.asLong(x, z));
+        if (chunkEntities != null) {
+          entities.addAll(chunkEntities);
+        }
+      }
+    }
+    return entities;
+  }
+
+  public Set<E> getByOwner(UUID owner) {
+    return Collections.unmodifiableSet(this.ownerIndex.getOrDefault(owner, Set.of()));
+  }
+
+  public Set<E> getByType(T entityType) {
+    return Collections.unmodifiableSet(this.typeIndex.getOrDefault(entityType, Set.of()));
+  }
+
+  public Set<E> getByType(D dimension, T entityType) {
+    Map<T, Set<E>> typeMap = this.dimensionTypeIndex.get(dimension);
+    if (typeMap == null) {
+      return Set.of();
+    }
+    return Collections.unmodifiableSet(typeMap.getOrDefault(entityType, Set.of()));
+  }
+
+  private static final class IndexEntry<E, D, T> {
+    private final E entity;
+    private final D dimension;
+    private final long chunk;
+    private final T entityType;
+    private final UUID owner;
+
+    private IndexEntry(E entity, D dimension, long chunk, T entityType, UUID owner) {
+      this.entity = entity;
+      this.dimension = dimension;
+      this.chunk = chunk;
+      this.entityType = entityType;
+      this.owner = owner;
+    }
+
+    private boolean equalKeys(D dimension, long chunk, T entityType, UUID owner) {
+      return this.dimension == dimension && this.chunk == chunk && this.entityType == entityType
+          && Objects.equals(this.owner, owner);
+    }
+  }
+
+}
@@ -19,15 +19,22 @@
 
 package de.markusbordihn.easynpc.entity;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 
+import net.minecraftforge.event.entity.EntityEvent;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
@@ -43,6 +50,10 @@ public class EntityManager {
 
   private static ConcurrentHashMap<UUID, Entity> entityMap = new ConcurrentHashMap<>();
 
+  // Server-side indexes
+  private static EntityIndex<EasyNPCEntity, ResourceKey<Level>, EntityType<?>> entityIndex =
+      new EntityIndex<>();
+
   @SubscribeEvent(priority = EventPriority.HIGH)
   public static void handleEntityJoinWorldEvent(EntityJoinWorldEvent event) {
     // Ignore if event is canceled.
@@ -55,6 +66,9 @@ public class EntityManager {
     if (entity instanceof EasyNPCEntity easyNPCEntity) {
       log.info("[Add] EASY NPC entity {}: {}", entity.getUUID(), easyNPCEntity);
       entityMap.put(entity.getUUID(), entity);
+      if (!entity.level.isClientSide) {
+        addIndex(easyNPCEntity);
+      }
     }
   }
 
@@ -71,6 +85,64 @@ public class EntityManager {
       log.info("[Remove] EASY NPC entity {}: {}", entity.getUUID(), easyNPCEntity);
       entityMap.remove(entity.getUUID());
     }
+    if (entity instanceof EasyNPCEntity easyNPCEntity && !entity.level.isClientSide) {
+      removeIndex(easyNPCEntity);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleEntityEnteringSectionEvent(EntityEvent.EnteringSection event) {
+    // Only chunk changes are relevant for the chunk index.
+    if (event.didChunkChange() && event.getEntity() instanceof EasyNPCEntity easyNPCEntity
+        && !easyNPCEntity.level.isClientSide) {
+      updateIndex(easyNPCEntity);
+    }
+  }
+
+  public static void updateIndex(EasyNPCEntity entity) {
+    entityIndex.update(entity.getUUID(), entity, entity.level.dimension(),
+        entity.chunkPosition().toLong(), entity.getType(), entity.getOwnerUUID());
+  }
+
+  private static void addIndex(EasyNPCEntity entity) {
+    entityIndex.add(entity.getUUID(), entity, entity.level.dimension(),
+        entity.chunkPosition().toLong(), entity.getType(), entity.getOwnerUUID());
+  }
+
+  private static void removeIndex(EasyNPCEntity entity) {
+    entityIndex.remove(entity.getUUID(), entity);
+  }
+
+  public static Set<EasyNPCEntity> getEntitiesByDimension(ResourceKey<Level> dimension) {
+    return entityIndex.getByDimension(dimension);
+  }
+
+  public static Set<EasyNPCEntity> getEntitiesByChunk(ResourceKey<Level> dimension,
+      ChunkPos chunkPos) {
+    return entityIndex.getByChunk(dimension, chunkPos.toLong());
+  }
+
+  public static List<EasyNPCEntity> getEntitiesByChunkRegion(ResourceKey<Level> dimension,
+      ChunkPos fromChunkPos, ChunkPos toChunkPos) {
+    return entityIndex.getByChunkRegion(dimension, fromChunkPos.x, fromChunkPos.z, toChunkPos.x,
+        toChunkPos.z);
+  }
+
+  public static Set<EasyNPCEntity> getEntitiesByOwner(UUID ownerUUID) {
+    return entityIndex.getByOwner(ownerUUID);
+  }
+
+  public static Set<EasyNPCEntity> getEntitiesByType(EntityType<?> entityType) {
+    return entityIndex.getByType(entityType);
+  }
+
+  public static Set<EasyNPCEntity> getEntitiesByType(ResourceKey<Level> dimension,
+      EntityType<?> entityType) {
+    return entityIndex.getByType(dimension, entityType);
+  }
+
+  public static int getNumberOfEntities(ResourceKey<Level> dimension, EntityType<?> entityType) {
+    return getEntitiesByType(dimension, entityType).size();
   }
 
   public static Entity getEntityByUUID(UUID uuid) {
@@ -122,4 +194,5 @@ public class EntityManager {
 
     return false;
   }
+
 }
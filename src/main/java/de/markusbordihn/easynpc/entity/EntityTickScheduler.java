@@ -0,0 +1,112 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.minecraft.world.entity.player.Player;
+
+import de.markusbordihn.easynpc.config.CommonConfig;
+
+/**
+ * Distance based AI tick scheduler for Easy NPC entities. Each NPC gets a tick tier depending on
+ * the distance to the nearest player, which decides how often goals are re-evaluated. Mid tier NPCs
+ * still tick their running goals and controls on skipped ticks.
+ */
+public class EntityTickScheduler {
+
+  public enum TickTier {
+    // @formatter:off
+    NEAR,
+    MID,
+    FAR;
+    // @formatter:on
+  }
+
+  private static final CommonConfig.Config COMMON = CommonConfig.COMMON;
+
+  private static final Map<TickTier, AtomicLong> executedTicks = new EnumMap<>(TickTier.class);
+  private static final Map<TickTier, AtomicLong> skippedTicks = new EnumMap<>(TickTier.class);
+
+  static {
+    for (TickTier tickTier : TickTier.values()) {
+      executedTicks.put(tickTier, new AtomicLong());
+      skippedTicks.put(tickTier, new AtomicLong());
+    }
+  }
+
+  protected EntityTickScheduler() {}
+
+  public static boolean shouldRunServerAi(EasyNPCEntity entity) {
+    if (!COMMON.tickSchedulerEnabled.get()) {
+      return true;
+    }
+
+    // Re-calculate the tick tier in a staggered way to spread the load over several ticks.
+    int tickOffset = entity.tickCount + entity.getId();
+    if (tickOffset % COMMON.tickSchedulerUpdateInterval.get() == 0) {
+      entity.setTickTier(getTickTier(entity));
+    }
+
+    TickTier tickTier = entity.getTickTier();
+    boolean shouldRun;
+    switch (tickTier) {
+      case FAR:
+        shouldRun = false;
+        break;
+      case MID:
+        shouldRun = tickOffset % COMMON.tickSchedulerMidTickInterval.get() == 0;
+        break;
+      default:
+        shouldRun = true;
+    }
+    (shouldRun ? executedTicks : skippedTicks).get(tickTier).incrementAndGet();
+    return shouldRun;
+  }
+
+  public static TickTier getTickTier(EasyNPCEntity entity) {
+    int farDistance = COMMON.tickSchedulerFarDistance.get();
+    Player player = entity.level.getNearestPlayer(entity, farDistance);
+    if (player == null) {
+      return TickTier.FAR;
+    }
+    int nearDistance = COMMON.tickSchedulerNearDistance.get();
+    return entity.distanceToSqr(player) <= nearDistance * nearDistance ? TickTier.NEAR
+        : TickTier.MID;
+  }
+
+  public static long getExecutedTicks(TickTier tickTier) {
+    return executedTicks.get(tickTier).get();
+  }
+
+  public static long getSkippedTicks(TickTier tickTier) {
+    return skippedTicks.get(tickTier).get();
+  }
+
+  public static void resetCounters() {
+    for (TickTier tickTier : TickTier.values()) {
+      executedTicks.get(tickTier).set(0);
+      skippedTicks.get(tickTier).set(0);
+    }
+  }
+
+}
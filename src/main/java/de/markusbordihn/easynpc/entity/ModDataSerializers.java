@@ -0,0 +1,67 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity;
+
+import java.util.List;
+
+import net.minecraftforge.registries.DataSerializerEntry;
+import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.RegistryObject;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.entity.npc.Fairy;
+import de.markusbordihn.easynpc.entity.npc.Humanoid;
+import de.markusbordihn.easynpc.entity.npc.HumanoidSlim;
+import de.markusbordihn.easynpc.entity.npc.Skeleton;
+import de.markusbordihn.easynpc.entity.npc.Villager;
+import de.markusbordihn.easynpc.network.syncher.EnumDataSerializer;
+import de.markusbordihn.easynpc.network.syncher.EnumTableDataSerializer;
+import de.markusbordihn.easynpc.skin.SkinType;
+
+public class ModDataSerializers {
+
+  protected ModDataSerializers() {
+
+  }
+
+  // Serializers
+  public static final EnumDataSerializer<Profession> PROFESSION =
+      new EnumDataSerializer<>(Profession.class, Profession.NONE);
+  public static final EnumDataSerializer<SkinType> SKIN_TYPE =
+      new EnumDataSerializer<>(SkinType.class, SkinType.DEFAULT);
+
+  // Variant table, new variant enums should be only added at the end to keep the ids stable.
+  public static final EnumTableDataSerializer VARIANT =
+      new EnumTableDataSerializer(List.of(EasyNPCEntityData.Variant.class, Fairy.Variant.class,
+          Humanoid.Variant.class, HumanoidSlim.Variant.class, Skeleton.Variant.class,
+          Villager.Variant.class));
+
+  public static final DeferredRegister<DataSerializerEntry> DATA_SERIALIZERS =
+      DeferredRegister.create(ForgeRegistries.Keys.DATA_SERIALIZERS, Constants.MOD_ID);
+
+  public static final RegistryObject<DataSerializerEntry> PROFESSION_ENTRY =
+      DATA_SERIALIZERS.register("profession", () -> new DataSerializerEntry(PROFESSION));
+  public static final RegistryObject<DataSerializerEntry> SKIN_TYPE_ENTRY =
+      DATA_SERIALIZERS.register("skin_type", () -> new DataSerializerEntry(SKIN_TYPE));
+  public static final RegistryObject<DataSerializerEntry> VARIANT_ENTRY =
+      DATA_SERIALIZERS.register("variant", () -> new DataSerializerEntry(VARIANT));
+
+}
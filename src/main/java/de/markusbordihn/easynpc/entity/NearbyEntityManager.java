@@ -0,0 +1,135 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.targeting.TargetingConditions;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+/**
+ * Shared per-level lookup of nearby players for the Easy NPC look goals. The players are bucketed
+ * into a chunk section based spatial hash at most once per tick and level, so that the costs scale
+ * with the number of players instead of the number of NPCs. Other living entities are looked up
+ * with the local bounding box query of the level, which is already backed by the entity sections.
+ */
+@EventBusSubscriber
+public class NearbyEntityManager {
+
+  private static Map<ResourceKey<Level>, SpatialHash> playerSpatialHashMap =
+      new ConcurrentHashMap<>();
+
+  protected NearbyEntityManager() {}
+
+  @SubscribeEvent
+  public static void handleWorldUnloadEvent(WorldEvent.Unload event) {
+    if (event.getWorld() instanceof ServerLevel serverLevel) {
+      playerSpatialHashMap.remove(serverLevel.dimension());
+    }
+  }
+
+  public static LivingEntity getNearestEntity(Mob mob, Class<? extends LivingEntity> entityClass,
+      double distance, TargetingConditions targetingConditions) {
+    if (!(mob.level instanceof ServerLevel serverLevel)) {
+      return null;
+    }
+    if (!Player.class.isAssignableFrom(entityClass)) {
+      return serverLevel.getNearestEntity(
+          serverLevel.getEntitiesOfClass(entityClass,
+              mob.getBoundingBox().inflate(distance, 3.0D, distance), entity -> true),
+          targetingConditions, mob, mob.getX(), mob.getEyeY(), mob.getZ());
+    }
+    SpatialHash spatialHash = getPlayerSpatialHash(serverLevel);
+
+    // Check all chunk sections within the given distance.
+    int sectionRadius = SectionPos.blockToSectionCoord(Math.ceil(distance)) + 1;
+    int sectionX = SectionPos.blockToSectionCoord(mob.getX());
+    int sectionY = SectionPos.blockToSectionCoord(mob.getY());
+    int sectionZ = SectionPos.blockToSectionCoord(mob.getZ());
+    LivingEntity nearestEntity = null;
+    double nearestDistance = Double.MAX_VALUE;
+    for (int x = sectionX - sectionRadius; x <= sectionX + sectionRadius; x++) {
+      for (int y = sectionY - sectionRadius; y <= sectionY + sectionRadius; y++) {
+        for (int z = sectionZ - sectionRadius; z <= sectionZ + sectionRadius; z++) {
+          List<LivingEntity> entities = spatialHash.buckets.get(SectionPos.asLong(x, y, z));
+          if (entities == null) {
+            continue;
+          }
+          for (LivingEntity entity : entities) {
+            if (entity == mob || !entityClass.isInstance(entity)) {
+              continue;
+            }
+            double entityDistance = entity.distanceToSqr(mob.getX(), mob.getEyeY(), mob.getZ());
+            if (entityDistance < nearestDistance && targetingConditions.test(mob, entity)) {
+              nearestDistance = entityDistance;
+              nearestEntity = entity;
+            }
+          }
+        }
+      }
+    }
+    return nearestEntity;
+  }
+
+  private static SpatialHash getPlayerSpatialHash(ServerLevel serverLevel) {
+    SpatialHash spatialHash = playerSpatialHashMap.computeIfAbsent(serverLevel.dimension(),
+        key -> new SpatialHash());
+    long gameTime = serverLevel.getGameTime();
+    if (spatialHash.gameTime != gameTime) {
+      spatialHash.clear(gameTime);
+      for (Player player : serverLevel.players()) {
+        spatialHash.add(player);
+      }
+    }
+    return spatialHash;
+  }
+
+  private static class SpatialHash {
+    private final Long2ObjectMap<List<LivingEntity>> buckets = new Long2ObjectOpenHashMap<>();
+    private long gameTime = -1;
+
+    private void clear(long gameTime) {
+      this.buckets.clear();
+      this.gameTime = gameTime;
+    }
+
+    private void add(LivingEntity livingEntity) {
+      this.buckets.computeIfAbsent(SectionPos.asLong(livingEntity.blockPosition()),
+          key -> new ArrayList<>()).add(livingEntity);
+    }
+  }
+
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity.ai.goal;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.goal.LookAtPlayerGoal;
+
+import de.markusbordihn.easynpc.entity.NearbyEntityManager;
+
+public class LookAtEntityGoal extends LookAtPlayerGoal {
+
+  public LookAtEntityGoal(Mob mob, Class<? extends LivingEntity> lookAtType, float lookDistance) {
+    super(mob, lookAtType, lookDistance);
+  }
+
+  public LookAtEntityGoal(Mob mob, Class<? extends LivingEntity> lookAtType, float lookDistance,
+      float probability) {
+    super(mob, lookAtType, lookDistance, probability);
+  }
+
+  @Override
+  public boolean canUse() {
+    if (this.mob.getRandom().nextFloat() >= this.probability) {
+      return false;
+    }
+
+    if (this.mob.getTarget() != null) {
+      this.lookAt = this.mob.getTarget();
+    }
+
+    // Use shared nearby entity lookup instead of a separate search for each NPC.
+    this.lookAt = NearbyEntityManager.getNearestEntity(this.mob, this.lookAtType,
+        this.lookDistance, this.lookAtContext);
+    return this.lookAt != null;
+  }
+
+}
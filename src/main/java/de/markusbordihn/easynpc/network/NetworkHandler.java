@@ -19,23 +19,31 @@
 
 package de.markusbordihn.easynpc.network;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
 
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
 import net.minecraftforge.network.simple.SimpleChannel;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.action.ActionType;
+import de.markusbordihn.easynpc.dialog.DialogData;
+import de.markusbordihn.easynpc.entity.EasyNPCEntityData;
 import de.markusbordihn.easynpc.menu.configuration.ConfigurationType;
 import de.markusbordihn.easynpc.network.message.MessageActionChange;
 import de.markusbordihn.easynpc.network.message.MessageActionDebug;
+import de.markusbordihn.easynpc.network.message.MessageDialogData;
+import de.markusbordihn.easynpc.network.message.MessageDialogDataRequest;
 import de.markusbordihn.easynpc.network.message.MessageNameChange;
 import de.markusbordihn.easynpc.network.message.MessageOpenConfiguration;
 import de.markusbordihn.easynpc.network.message.MessageProfessionChange;
@@ -44,6 +52,8 @@ import de.markusbordihn.easynpc.network.message.MessageSaveBasicDialog;
 import de.markusbordihn.easynpc.network.message.MessageSaveYesNoDialog;
 import de.markusbordihn.easynpc.network.message.MessageScaleChange;
 import de.markusbordihn.easynpc.network.message.MessageSkinChange;
+import de.markusbordihn.easynpc.network.message.MessageSpawnData;
+import de.markusbordihn.easynpc.network.message.MessageStaticChange;
 import de.markusbordihn.easynpc.network.message.MessageTriggerAction;
 import de.markusbordihn.easynpc.network.message.MessageVariantChange;
 import de.markusbordihn.easynpc.skin.SkinType;
@@ -53,7 +63,7 @@ public class NetworkHandler {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
-  private static final String PROTOCOL_VERSION = "4";
+  private static final String PROTOCOL_VERSION = "7";
   public static final SimpleChannel INSTANCE =
       NetworkRegistry.newSimpleChannel(new ResourceLocation(Constants.MOD_ID, "network"),
           () -> PROTOCOL_VERSION, PROTOCOL_VERSION::equals, PROTOCOL_VERSION::equals);
@@ -146,6 +156,13 @@ public class NetworkHandler {
       }, buffer -> new MessageSkinChange(buffer.readUUID(), buffer.readUtf(), buffer.readUtf(),
           buffer.readUUID(), buffer.readUtf()), MessageSkinChange::handle);
 
+      // Static Change: Client -> Server
+      INSTANCE.registerMessage(id++, MessageStaticChange.class, (message, buffer) -> {
+        buffer.writeUUID(message.getUUID());
+        buffer.writeBoolean(message.getStatic());
+      }, buffer -> new MessageStaticChange(buffer.readUUID(), buffer.readBoolean()),
+          MessageStaticChange::handle);
+
       // Variant Change: Client -> Server
       INSTANCE.registerMessage(id++, MessageVariantChange.class, (message, buffer) -> {
         buffer.writeUUID(message.getUUID());
@@ -157,6 +174,34 @@ public class NetworkHandler {
       INSTANCE.registerMessage(id++, MessageRemoveNPC.class, (message, buffer) -> {
         buffer.writeUUID(message.getUUID());
       }, buffer -> new MessageRemoveNPC(buffer.readUUID()), MessageRemoveNPC::handle);
+
+      // Dialog Data Request: Client -> Server
+      INSTANCE.registerMessage(id++, MessageDialogDataRequest.class, (message, buffer) -> {
+        buffer.writeUUID(message.getUUID());
+      }, buffer -> new MessageDialogDataRequest(buffer.readUUID()),
+          MessageDialogDataRequest::handle);
+
+      // Dialog Data: Server -> Client
+      INSTANCE.registerMessage(id++, MessageDialogData.class, (message, buffer) -> {
+        buffer.writeUUID(message.getUUID());
+        buffer.writeUtf(message.getHash());
+        buffer.writeBoolean(message.hasDialogData());
+        if (message.hasDialogData()) {
+          message.getDialogData().write(buffer);
+        }
+      }, buffer -> {
+        UUID uuid = buffer.readUUID();
+        String hash = buffer.readUtf();
+        return new MessageDialogData(uuid, hash,
+            buffer.readBoolean() ? DialogData.read(buffer) : null);
+      }, MessageDialogData::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+
+      // Spawn Data: Server -> Client
+      INSTANCE.registerMessage(id++, MessageSpawnData.class, (message, buffer) -> {
+        buffer.writeVarInt(message.getEntityId());
+        buffer.writeByteArray(message.getSpawnData());
+      }, buffer -> new MessageSpawnData(buffer.readVarInt(), buffer.readByteArray()),
+          MessageSpawnData::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
     });
   }
 
@@ -174,6 +219,29 @@ public class NetworkHandler {
     }
   }
 
+  /** Request dialog data. */
+  public static void requestDialogData(UUID uuid) {
+    if (uuid != null) {
+      INSTANCE.sendToServer(new MessageDialogDataRequest(uuid));
+    }
+  }
+
+  /** Send dialog data to client. */
+  public static void sendDialogData(ServerPlayer serverPlayer, UUID uuid, DialogData dialogData) {
+    if (serverPlayer != null && uuid != null && dialogData != null) {
+      INSTANCE.send(PacketDistributor.PLAYER.with(() -> serverPlayer),
+          new MessageDialogData(uuid, dialogData.getHash(), dialogData));
+    }
+  }
+
+  /** Send dialog data hash to client, for already cached dialog data. */
+  public static void sendDialogDataHash(ServerPlayer serverPlayer, UUID uuid, String hash) {
+    if (serverPlayer != null && uuid != null && hash != null) {
+      INSTANCE.send(PacketDistributor.PLAYER.with(() -> serverPlayer),
+          new MessageDialogData(uuid, hash, null));
+    }
+  }
+
   /** Send name change. */
   public static void nameChange(UUID uuid, String name) {
     if (uuid != null && name != null && !name.isEmpty()) {
@@ -247,6 +315,21 @@ public class NetworkHandler {
     }
   }
 
+  /** Send updated spawn data to all players tracking the entity. */
+  public static void updateSpawnData(EasyNPCEntityData entity) {
+    if (entity != null && !entity.isRemoved()) {
+      INSTANCE.send(PacketDistributor.TRACKING_ENTITY.with(() -> entity),
+          new MessageSpawnData(entity.getId(), entity.getSpawnData()));
+    }
+  }
+
+  /** Send static change. */
+  public static void staticChange(UUID uuid, boolean isStatic) {
+    if (uuid != null) {
+      INSTANCE.sendToServer(new MessageStaticChange(uuid, isStatic));
+    }
+  }
+
   /** Send trigger action. */
   public static void triggerAction(UUID uuid, ActionType actionType) {
     if (uuid != null && actionType != null && actionType != ActionType.NONE) {
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.message;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.client.dialog.ClientDialogManager;
+import de.markusbordihn.easynpc.dialog.DialogData;
+
+public class MessageDialogData {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  protected final UUID uuid;
+  protected final String hash;
+  protected final DialogData dialogData;
+
+  public MessageDialogData(UUID uuid, String hash, DialogData dialogData) {
+    this.uuid = uuid;
+    this.hash = hash;
+    this.dialogData = dialogData;
+  }
+
+  public UUID getUUID() {
+    return this.uuid;
+  }
+
+  public String getHash() {
+    return this.hash;
+  }
+
+  public DialogData getDialogData() {
+    return this.dialogData;
+  }
+
+  public boolean hasDialogData() {
+    return this.dialogData != null;
+  }
+
+  public static void handle(MessageDialogData message,
+      Supplier<NetworkEvent.Context> contextSupplier) {
+    NetworkEvent.Context context = contextSupplier.get();
+    context.enqueueWork(
+        () -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> handlePacket(message)));
+    context.setPacketHandled(true);
+  }
+
+  public static void handlePacket(MessageDialogData message) {
+    UUID uuid = message.getUUID();
+    if (uuid == null) {
+      log.error("Unable to handle dialog data with message {}", message);
+      return;
+    }
+
+    if (message.hasDialogData()) {
+      ClientDialogManager.handleDialogData(uuid, message.getDialogData());
+    } else {
+      ClientDialogManager.handleDialogDataHash(uuid, message.getHash());
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.message;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+
+import net.minecraftforge.network.NetworkEvent;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.action.ActionRateLimiter;
+import de.markusbordihn.easynpc.dialog.DialogDataManager;
+import de.markusbordihn.easynpc.entity.EasyNPCEntity;
+import de.markusbordihn.easynpc.menu.DialogMenu;
+import de.markusbordihn.easynpc.menu.configuration.ConfigurationMenu;
+
+public class MessageDialogDataRequest {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  protected final UUID uuid;
+
+  public MessageDialogDataRequest(UUID uuid) {
+    this.uuid = uuid;
+  }
+
+  public UUID getUUID() {
+    return this.uuid;
+  }
+
+  public static void handle(MessageDialogDataRequest message,
+      Supplier<NetworkEvent.Context> contextSupplier) {
+    NetworkEvent.Context context = contextSupplier.get();
+    context.enqueueWork(() -> handlePacket(message, context));
+    context.setPacketHandled(true);
+  }
+
+  public static void handlePacket(MessageDialogDataRequest message, NetworkEvent.Context context) {
+    ServerPlayer serverPlayer = context.getSender();
+    UUID uuid = message.getUUID();
+    if (serverPlayer == null || uuid == null) {
+      log.error("Unable to request dialog data with message {} from {}", message, context);
+      return;
+    }
+
+    // Validate entity, only dialogs of NPCs in the same level are answered.
+    Entity entity = serverPlayer.getLevel().getEntity(uuid);
+    if (!(entity instanceof EasyNPCEntity easyNPCEntity)) {
+      log.error("Unable to get valid entity with UUID {} for {}", uuid, serverPlayer);
+      return;
+    }
+
+    // Only answer for a dialog or configuration menu, which the server opened for this player.
+    if (!isOpenMenu(serverPlayer.containerMenu, uuid)) {
+      log.warn("Ignore dialog data request for {} from {} without open menu!", easyNPCEntity,
+          serverPlayer);
+      return;
+    }
+
+    // Drop spammed requests.
+    if (!ActionRateLimiter.tryAcquire(serverPlayer, easyNPCEntity)) {
+      log.debug("Rate limited dialog data request for {} from {}", easyNPCEntity, serverPlayer);
+      return;
+    }
+
+    // Perform action.
+    DialogDataManager.resendDialogData(serverPlayer, easyNPCEntity);
+  }
+
+  private static boolean isOpenMenu(AbstractContainerMenu containerMenu, UUID uuid) {
+    EasyNPCEntity easyNPCEntity = null;
+    if (containerMenu instanceof DialogMenu dialogMenu) {
+      easyNPCEntity = dialogMenu.getEntity();
+    } else if (containerMenu instanceof ConfigurationMenu configurationMenu) {
+      easyNPCEntity = configurationMenu.getEntity();
+    }
+    return easyNPCEntity != null && uuid.equals(easyNPCEntity.getUUID());
+  }
+
+}
@@ -30,6 +30,7 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.network.NetworkEvent;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.action.ActionRateLimiter;
 import de.markusbordihn.easynpc.action.ActionType;
 import de.markusbordihn.easynpc.entity.EasyNPCEntity;
 import de.markusbordihn.easynpc.entity.EntityManager;
@@ -69,6 +70,11 @@ public class MessageTriggerAction {
       return;
     }
 
+    // Drop requests of rate limited players as early as possible.
+    if (ActionRateLimiter.isPlayerLimited(serverPlayer)) {
+      return;
+    }
+
     // Validate action type.
     ActionType actionType = ActionType.get(message.getActionType());
     if (actionType == null || actionType == ActionType.NONE) {
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.syncher;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.syncher.EntityDataSerializer;
+
+/**
+ * Synced entity data serializer for a single enum, which only sends the ordinal as var int instead
+ * of the full enum name.
+ */
+public class EnumDataSerializer<E extends Enum<E>> implements EntityDataSerializer<E> {
+
+  private final E[] values;
+  private final E defaultValue;
+
+  public EnumDataSerializer(Class<E> enumClass, E defaultValue) {
+    this.values = enumClass.getEnumConstants();
+    this.defaultValue = defaultValue;
+  }
+
+  @Override
+  public void write(FriendlyByteBuf buffer, E value) {
+    buffer.writeVarInt(value.ordinal());
+  }
+
+  @Override
+  public E read(FriendlyByteBuf buffer) {
+    int id = buffer.readVarInt();
+    return id >= 0 && id < this.values.length ? this.values[id] : this.defaultValue;
+  }
+
+  @Override
+  public E copy(E value) {
+    return value;
+  }
+
+}
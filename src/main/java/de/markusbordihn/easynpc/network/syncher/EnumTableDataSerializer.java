@@ -0,0 +1,79 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.syncher;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.syncher.EntityDataSerializer;
+
+import de.markusbordihn.easynpc.Constants;
+
+/**
+ * Synced entity data serializer for enums of different types, like the variants of the different
+ * NPC models. The enum is sent as var int id of a stable enum table and the var int ordinal.
+ */
+public class EnumTableDataSerializer implements EntityDataSerializer<Enum<?>> {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private final Enum<?>[][] enumTable;
+  private final Map<Class<?>, Integer> enumTableIds = new HashMap<>();
+
+  public EnumTableDataSerializer(List<Class<? extends Enum<?>>> enumClasses) {
+    this.enumTable = new Enum<?>[enumClasses.size()][];
+    for (int id = 0; id < enumClasses.size(); id++) {
+      Class<? extends Enum<?>> enumClass = enumClasses.get(id);
+      this.enumTable[id] = enumClass.getEnumConstants();
+      this.enumTableIds.put(enumClass, id);
+    }
+  }
+
+  @Override
+  public void write(FriendlyByteBuf buffer, Enum<?> value) {
+    Integer id = this.enumTableIds.get(value.getDeclaringClass());
+    if (id == null) {
+      log.error("Unable to find enum table entry for {} of {}", value, value.getDeclaringClass());
+      id = 0;
+    }
+    buffer.writeVarInt(id);
+    buffer.writeVarInt(value.ordinal());
+  }
+
+  @Override
+  public Enum<?> read(FriendlyByteBuf buffer) {
+    int id = buffer.readVarInt();
+    int ordinal = buffer.readVarInt();
+    Enum<?>[] values =
+        id >= 0 && id < this.enumTable.length ? this.enumTable[id] : this.enumTable[0];
+    return ordinal >= 0 && ordinal < values.length ? values[ordinal] : values[0];
+  }
+
+  @Override
+  public Enum<?> copy(Enum<?> value) {
+    return value;
+  }
+
+}
@@ -19,16 +19,13 @@
 
 package de.markusbordihn.easynpc.utils;
 
-import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -53,9 +50,6 @@ public class PlayersUtils {
   private static final String USER_REGEX = "^\\w{2,16}$";
   private static final String TEXTURES_STRING = "textures";
 
-  // Internal Cache
-  private static UUID lastUserUUIDForUserTexture;
-
   protected PlayersUtils() {}
 
   public static Optional<GameProfile> getGameProfile(MinecraftServer server, Component component) {
@@ -99,30 +93,6 @@ public class PlayersUtils {
     return null;
   }
 
-  public static String getUserTexture(UUID userUUID) {
-    // Simple reload protected to avoid spawning to the session server.
-    if (lastUserUUIDForUserTexture != null && lastUserUUIDForUserTexture.equals(userUUID)) {
-      log.error("Ignore duplicated user texture request for {}!", userUUID);
-      return null;
-    }
-    lastUserUUIDForUserTexture = userUUID;
-
-    // Create sessions request and parse result, if any.
-    String sessionURL =
-        String.format("https://sessionserver.mojang.com/session/minecraft/profile/%s", userUUID);
-    try {
-      String data = IOUtils.toString(new URL(sessionURL), StandardCharsets.UTF_8);
-      if (data == null || data.isEmpty()) {
-        log.error("Unable to get user texture with {}", sessionURL);
-        return null;
-      }
-      return getUserTextureFromSessionResponse(data);
-    } catch (IOException ioException) {
-      log.error("Unable to get user texture with {}, because of: {}", sessionURL, ioException);
-      return null;
-    }
-  }
-
   public static String getUserTextureFromSessionResponse(String data) {
     JsonObject jsonObject = getJsonObject(data);
     if (jsonObject != null && jsonObject.has("properties")) {
@@ -0,0 +1,241 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+
+import de.markusbordihn.easynpc.entity.EasyNPCEntityData;
+
+/**
+ * Text template, which is compiled once into literal and placeholder segments and rendered in a
+ * single pass. Unknown or unavailable placeholders are kept as literal text.
+ */
+public class TextTemplate {
+
+  public enum Placeholder {
+    // @formatter:off
+    NPC("@npc", false),
+    NPC_X("@npc.x", false),
+    NPC_Y("@npc.y", false),
+    NPC_Z("@npc.z", false),
+    INITIATOR("@initiator", true),
+    INITIATOR_X("@initiator.x", true),
+    INITIATOR_Y("@initiator.y", true),
+    INITIATOR_Z("@initiator.z", true),
+    OWNER("@owner", false),
+    DIMENSION("@dimension", false),
+    TIME("@time", false);
+    // @formatter:on
+
+    private final String token;
+    private final boolean initiator;
+
+    Placeholder(String token, boolean initiator) {
+      this.token = token;
+      this.initiator = initiator;
+    }
+
+    public String getToken() {
+      return this.token;
+    }
+
+    public boolean isInitiator() {
+      return this.initiator;
+    }
+  }
+
+  // Placeholders sorted by token length, to always match the longest placeholder first.
+  private static final Placeholder[] PLACEHOLDERS_BY_LENGTH = Arrays.stream(Placeholder.values())
+      .sorted(Comparator.comparingInt((Placeholder placeholder) -> placeholder.getToken().length())
+          .reversed())
+      .toArray(Placeholder[]::new);
+
+  private static final int MAX_CACHED_TEMPLATES = 1024;
+  private static final Map<String, TextTemplate> templateCache = new ConcurrentHashMap<>();
+  private static final ThreadLocal<StringBuilder> stringBuilder =
+      ThreadLocal.withInitial(StringBuilder::new);
+
+  private final String text;
+  private final String[] literals;
+  private final Placeholder[] placeholders;
+
+  private TextTemplate(String text, String[] literals, Placeholder[] placeholders) {
+    this.text = text;
+    this.literals = literals;
+    this.placeholders = placeholders;
+  }
+
+  public static TextTemplate compile(String text) {
+    TextTemplate textTemplate = templateCache.get(text);
+    if (textTemplate == null) {
+      if (templateCache.size() >= MAX_CACHED_TEMPLATES) {
+        templateCache.clear();
+      }
+      textTemplate = parse(text);
+      templateCache.put(text, textTemplate);
+    }
+    return textTemplate;
+  }
+
+  private static TextTemplate parse(String text) {
+    List<String> literals = new ArrayList<>();
+    List<Placeholder> placeholders = new ArrayList<>();
+    int literalStart = 0;
+    int index = text.indexOf('@');
+    while (index >= 0) {
+      Placeholder placeholder = matchPlaceholder(text, index);
+      if (placeholder != null) {
+        literals.add(text.substring(literalStart, index));
+        placeholders.add(placeholder);
+        literalStart = index + placeholder.getToken().length();
+        index = text.indexOf('@', literalStart);
+      } else {
+        index = text.indexOf('@', index + 1);
+      }
+    }
+    literals.add(text.substring(literalStart));
+    return new TextTemplate(text, literals.toArray(new String[0]),
+        placeholders.toArray(new Placeholder[0]));
+  }
+
+  private static Placeholder matchPlaceholder(String text, int index) {
+    for (Placeholder placeholder : PLACEHOLDERS_BY_LENGTH) {
+      if (text.startsWith(placeholder.getToken(), index)) {
+        return placeholder;
+      }
+    }
+    return null;
+  }
+
+  public boolean hasPlaceholders() {
+    return this.placeholders.length > 0;
+  }
+
+  public String getText() {
+    return this.text;
+  }
+
+  public String render(LivingEntity entity, Player player) {
+    if (!hasPlaceholders()) {
+      return this.text;
+    }
+    StringBuilder output = stringBuilder.get();
+    output.setLength(0);
+    render(output, entity, player);
+    return output.toString();
+  }
+
+  public void render(StringBuilder output, LivingEntity entity, Player player) {
+    output.append(this.literals[0]);
+    for (int i = 0; i < this.placeholders.length; i++) {
+      appendPlaceholder(output, this.placeholders[i], entity, player);
+      output.append(this.literals[i + 1]);
+    }
+  }
+
+  /**
+   * Renders the template with already resolved values, indexed by placeholder ordinal. A missing
+   * value keeps the placeholder token, like an unavailable entity or player does.
+   */
+  String render(String[] values) {
+    if (!hasPlaceholders()) {
+      return this.text;
+    }
+    StringBuilder output = stringBuilder.get();
+    output.setLength(0);
+    output.append(this.literals[0]);
+    for (int i = 0; i < this.placeholders.length; i++) {
+      String value = values[this.placeholders[i].ordinal()];
+      output.append(value != null ? value : this.placeholders[i].getToken());
+      output.append(this.literals[i + 1]);
+    }
+    return output.toString();
+  }
+
+  private static void appendPlaceholder(StringBuilder output, Placeholder placeholder,
+      LivingEntity entity, Player player) {
+    Entity source = placeholder.isInitiator() ? player : entity;
+    if (source == null) {
+      output.append(placeholder.getToken());
+      return;
+    }
+    switch (placeholder) {
+      case NPC:
+        output.append(entity instanceof EasyNPCEntityData easyNPCEntityData
+            ? easyNPCEntityData.getNameString()
+            : entity.getName().getString());
+        break;
+      case INITIATOR:
+        output.append(player.getName().getString());
+        break;
+      case NPC_X:
+      case INITIATOR_X:
+        output.append(source.getBlockX());
+        break;
+      case NPC_Y:
+      case INITIATOR_Y:
+        output.append(source.getBlockY());
+        break;
+      case NPC_Z:
+      case INITIATOR_Z:
+        output.append(source.getBlockZ());
+        break;
+      case OWNER:
+        appendOwner(output, entity);
+        break;
+      case DIMENSION:
+        output.append(source.getLevel().dimension().location());
+        break;
+      case TIME:
+        output.append(source.getLevel().getDayTime() % 24000L);
+        break;
+      default:
+        output.append(placeholder.getToken());
+    }
+  }
+
+  private static void appendOwner(StringBuilder output, LivingEntity entity) {
+    UUID ownerUUID =
+        entity instanceof EasyNPCEntityData easyNPCEntityData ? easyNPCEntityData.getOwnerUUID()
+            : null;
+    if (ownerUUID == null) {
+      output.append(Placeholder.OWNER.getToken());
+      return;
+    }
+    Player owner = entity.getLevel().getPlayerByUUID(ownerUUID);
+    output.append(owner != null ? owner.getName().getString() : ownerUUID.toString());
+  }
+
+  @Override
+  public String toString() {
+    return "TextTemplate [text=" + this.text + ", placeholders="
+        + Arrays.toString(this.placeholders) + "]";
+  }
+
+}
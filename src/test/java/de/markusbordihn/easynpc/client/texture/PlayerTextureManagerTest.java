@@ -0,0 +1,121 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Triple;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.mojang.blaze3d.platform.NativeImage;
+
+import de.markusbordihn.easynpc.skin.SkinModel;
+
+class PlayerTextureManagerTest {
+
+  private static TextureTestServer server;
+
+  @TempDir
+  Path targetDirectory;
+
+  @BeforeAll
+  static void startServer() throws IOException, ReflectiveOperationException {
+    TextureTestServer.loadClientConfig();
+    server = new TextureTestServer();
+    server.addResponse("/skin.png", TextureTestServer.createPng(64, 64), false);
+    server.addResponse("/legacy_skin.png", TextureTestServer.createPng(64, 32), true);
+    server.addResponse("/text.png", "Not a texture".getBytes(StandardCharsets.UTF_8), false);
+    server.addResponse("/missing.png", 404);
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.close();
+  }
+
+  @Test
+  void loadTexture() {
+    TextureModelKey textureModelKey = new TextureModelKey(UUID.randomUUID(), SkinModel.HUMANOID);
+    String url = server.getUrl("/skin.png");
+    Triple<NativeImage, String, String> texture = loadTexture(textureModelKey, url);
+    assertNotNull(texture);
+    try (NativeImage nativeImage = texture.getLeft()) {
+      assertEquals(64, nativeImage.getWidth());
+      assertEquals(64, nativeImage.getHeight());
+      assertEquals(TextureManager.getPixelHash(nativeImage), texture.getMiddle());
+      assertEquals(url, texture.getRight());
+    }
+    assertTrue(getCachedFile(textureModelKey).exists());
+  }
+
+  @Test
+  void loadTextureWithLegacyImage() {
+    TextureModelKey textureModelKey =
+        new TextureModelKey(UUID.randomUUID(), SkinModel.HUMANOID_SLIM);
+    Triple<NativeImage, String, String> texture =
+        loadTexture(textureModelKey, server.getUrl("/legacy_skin.png"));
+    assertNotNull(texture);
+    try (NativeImage nativeImage = texture.getLeft()) {
+      assertEquals(64, nativeImage.getWidth());
+      assertEquals(64, nativeImage.getHeight());
+    }
+    assertTrue(getCachedFile(textureModelKey).exists());
+  }
+
+  @Test
+  void loadTextureWithInvalidData() {
+    TextureModelKey textureModelKey = new TextureModelKey(UUID.randomUUID(), SkinModel.HUMANOID);
+    assertNull(loadTexture(textureModelKey, server.getUrl("/text.png")));
+    assertNull(loadTexture(textureModelKey, server.getUrl("/missing.png")));
+    assertFalse(getCachedFile(textureModelKey).exists());
+  }
+
+  @Test
+  void loadTextureWithoutUrl() {
+    TextureModelKey textureModelKey = new TextureModelKey(UUID.randomUUID(), SkinModel.HUMANOID);
+    assertNull(loadTexture(textureModelKey, null));
+    assertNull(loadTexture(textureModelKey, ""));
+    assertNull(loadTexture(textureModelKey, "ftp://127.0.0.1/skin.png"));
+  }
+
+  private Triple<NativeImage, String, String> loadTexture(TextureModelKey textureModelKey,
+      String url) {
+    return PlayerTextureManager.loadTexture(textureModelKey, url,
+        this.targetDirectory.toString());
+  }
+
+  private File getCachedFile(TextureModelKey textureModelKey) {
+    return this.targetDirectory.resolve(TextureManager.getFileName(textureModelKey.getUUID()))
+        .toFile();
+  }
+
+}
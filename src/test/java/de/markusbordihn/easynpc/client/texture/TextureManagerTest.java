@@ -0,0 +1,127 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.system.MemoryUtil;
+
+class TextureManagerTest {
+
+  private static final byte[] SMALL_DATA = createData(1000);
+  private static final byte[] MEDIUM_DATA = createData(40 * 1024);
+  private static final byte[] LARGE_DATA = createData(3 * 1024 * 1024);
+
+  private static TextureTestServer server;
+
+  @BeforeAll
+  static void startServer() throws IOException {
+    server = new TextureTestServer();
+    server.addResponse("/small", SMALL_DATA, false);
+    server.addResponse("/medium", MEDIUM_DATA, false);
+    server.addResponse("/medium_chunked", MEDIUM_DATA, true);
+    server.addResponse("/large", LARGE_DATA, false);
+    server.addResponse("/large_chunked", LARGE_DATA, true);
+    server.addResponse("/missing", 404);
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.close();
+  }
+
+  @Test
+  void getRemoteDataWithContentLength() throws IOException {
+    assertRemoteData(SMALL_DATA, "/small");
+    assertRemoteData(MEDIUM_DATA, "/medium");
+  }
+
+  @Test
+  void getRemoteDataWithoutContentLength() throws IOException {
+    // Larger than the default buffer, so that the buffer needs to grow.
+    assertRemoteData(MEDIUM_DATA, "/medium_chunked");
+  }
+
+  @Test
+  void getRemoteDataTooLarge() {
+    assertThrows(IOException.class, () -> TextureManager.getRemoteData(server.getUrl("/large")));
+    assertThrows(IOException.class,
+        () -> TextureManager.getRemoteData(server.getUrl("/large_chunked")));
+  }
+
+  @Test
+  void getRemoteDataMissing() {
+    assertThrows(IOException.class,
+        () -> TextureManager.getRemoteData(server.getUrl("/missing")));
+  }
+
+  @Test
+  void isValidTextureData() {
+    assertTrue(isValidTextureData(TextureTestServer.createPng(64, 64)));
+    assertTrue(isValidTextureData(TextureTestServer.createPng(64, 32)));
+    assertTrue(isValidTextureData(TextureTestServer.createPng(128, 128)));
+  }
+
+  @Test
+  void isValidTextureDataWithInvalidSize() {
+    assertFalse(isValidTextureData(TextureTestServer.createPng(16, 16)));
+    assertFalse(isValidTextureData(TextureTestServer.createPng(64, 48)));
+    assertFalse(isValidTextureData(TextureTestServer.createPng(2048, 32)));
+  }
+
+  @Test
+  void isValidTextureDataWithInvalidData() {
+    assertFalse(isValidTextureData(new byte[0]));
+    assertFalse(isValidTextureData(Arrays.copyOf(TextureTestServer.createPng(64, 64), 20)));
+    assertFalse(isValidTextureData(SMALL_DATA));
+  }
+
+  private static void assertRemoteData(byte[] expectedData, String path) throws IOException {
+    ByteBuffer buffer = TextureManager.getRemoteData(server.getUrl(path));
+    try {
+      byte[] data = new byte[buffer.remaining()];
+      buffer.get(data);
+      assertArrayEquals(expectedData, data);
+    } finally {
+      MemoryUtil.memFree(buffer);
+    }
+  }
+
+  private static boolean isValidTextureData(byte[] data) {
+    return TextureManager.isValidTextureData(ByteBuffer.wrap(data), "test");
+  }
+
+  private static byte[] createData(int size) {
+    byte[] data = new byte[size];
+    new Random(size).nextBytes(data);
+    return data;
+  }
+
+}
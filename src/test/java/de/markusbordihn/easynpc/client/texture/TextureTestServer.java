@@ -0,0 +1,125 @@
+/**
+ * Copyright 2023 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.markusbordihn.easynpc.client.texture;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+
+import org.mockito.Mockito;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import net.minecraftforge.fml.ModContainer;
+import net.minecraftforge.fml.ModLoadingContext;
+
+import de.markusbordihn.easynpc.config.ClientConfig;
+
+/**
+ * Local stand-in for a remote texture server, which serves fixed responses by path. Responses are
+ * sent with a known content length, or chunked without any content length.
+ */
+class TextureTestServer implements AutoCloseable {
+
+  private final HttpServer httpServer;
+  private final ExecutorService executor;
+
+  TextureTestServer() throws IOException {
+    // Responses which are not read by the client should not block other responses.
+    this.executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "Texture Test Server");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.httpServer.setExecutor(this.executor);
+    this.httpServer.start();
+  }
+
+  void addResponse(String path, byte[] data, boolean chunked) {
+    this.httpServer.createContext(path, exchange -> sendResponse(exchange, 200, data, chunked));
+  }
+
+  void addResponse(String path, int statusCode) {
+    this.httpServer.createContext(path,
+        exchange -> sendResponse(exchange, statusCode, new byte[0], false));
+  }
+
+  String getUrl(String path) {
+    return "http://127.0.0.1:" + this.httpServer.getAddress().getPort() + path;
+  }
+
+  @Override
+  public void close() {
+    this.httpServer.stop(0);
+    this.executor.shutdownNow();
+  }
+
+  private static void sendResponse(HttpExchange exchange, int statusCode, byte[] data,
+      boolean chunked) throws IOException {
+    try (OutputStream outputStream = exchange.getResponseBody()) {
+      exchange.sendResponseHeaders(statusCode, chunked ? 0 : data.length > 0 ? data.length : -1);
+      outputStream.write(data);
+    } catch (IOException exception) {
+      // The client is allowed to close the connection early, e.g. for too large files.
+    }
+  }
+
+  static byte[] createPng(int width, int height) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        image.setRGB(x, y, 0xFF000000 | (x * 4) << 16 | (y * 4) << 8 | (x + y));
+      }
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(image, "png", outputStream);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * Registers and loads the client config with its default values, which is otherwise done by the
+   * mod loader. The texture cache and loading executor need it for their worker threads.
+   */
+  static void loadClientConfig() throws ReflectiveOperationException {
+    Field activeContainer = ModLoadingContext.class.getDeclaredField("activeContainer");
+    activeContainer.setAccessible(true);
+    activeContainer.set(ModLoadingContext.get(), Mockito.mock(ModContainer.class));
+    try {
+      ClientConfig.clientSpec.setConfig(CommentedConfig.inMemory());
+    } finally {
+      activeContainer.set(ModLoadingContext.get(), null);
+    }
+  }
+
+}